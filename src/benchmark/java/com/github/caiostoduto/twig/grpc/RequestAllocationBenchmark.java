@@ -0,0 +1,89 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.sun.management.ThreadMXBean;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessRequest;
+
+/**
+ * Bytes allocated per CheckPlayerAccess request, built from strings field by
+ * field as before {@link RequestTemplates}, and from the templates. Each
+ * request is also serialized into a reused buffer, as the gRPC marshaller
+ * would, since string fields are encoded at that point. Run with
+ * {@code ./gradlew allocationBenchmark [-PprotobufLite]}.
+ */
+public final class RequestAllocationBenchmark {
+    private static final int PLAYERS = 64;
+    private static final int WARMUP_ITERATIONS = 500_000;
+    private static final int ITERATIONS = 2_000_000;
+    private static final String PROXY_ID = "7f3c9a52-8a1e-4c1b-9d6e-0c2a5b7e1f44";
+    private static final String[] SERVERS = { "lobby", "survival", "creative", "minigames" };
+
+    // Keeps the JIT from dropping the serialized requests
+    private static long sink;
+
+    private RequestAllocationBenchmark() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM does not report per-thread allocations");
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final PlayerIdentifier[] players = new PlayerIdentifier[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new PlayerIdentifier("Player" + i, new byte[] { 10, 0, 0, (byte) i });
+            // Formatted once per player on both paths
+            players[i].getIpAddress();
+        }
+
+        final RequestBuilder fromStrings = (playerId, serverName) -> PlayerAccessRequest.newBuilder()
+                .setPlayerName(playerId.getUsername())
+                .setPlayerIpv4(playerId.getIpAddress())
+                .setPlayerAddress(UnsafeByteOperations.unsafeWrap(playerId.getAddressBytes()))
+                .setServerName(serverName)
+                .setProxyId(PROXY_ID)
+                .build();
+        final RequestTemplates templates = new RequestTemplates(PROXY_ID);
+        final RequestBuilder fromTemplates = templates::accessRequest;
+
+        final byte[] buffer = new byte[256];
+        measure(threads, fromStrings, players, buffer, WARMUP_ITERATIONS);
+        measure(threads, fromTemplates, players, buffer, WARMUP_ITERATIONS);
+
+        final double before = measure(threads, fromStrings, players, buffer, ITERATIONS);
+        final double after = measure(threads, fromTemplates, players, buffer, ITERATIONS);
+        System.out.printf("Bytes allocated per access request, built and serialized, %d requests%n", ITERATIONS);
+        System.out.printf("  %-16s %.1f%n", "from strings", before);
+        System.out.printf("  %-16s %.1f%n", "from templates", after);
+    }
+
+    /**
+     * @return Bytes allocated by the calling thread per request
+     */
+    private static double measure(final ThreadMXBean threads, final RequestBuilder builder,
+            final PlayerIdentifier[] players, final byte[] buffer, final int iterations) throws IOException {
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            final PlayerAccessRequest request = builder.build(players[i % PLAYERS], SERVERS[i % SERVERS.length]);
+            // The encoder wrapping the buffer costs the same on both paths
+            final CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+            request.writeTo(out);
+            sink += out.getTotalBytesWritten();
+        }
+        return (double) (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / iterations;
+    }
+
+    @FunctionalInterface
+    private interface RequestBuilder {
+        PlayerAccessRequest build(PlayerIdentifier playerId, String serverName);
+    }
+}
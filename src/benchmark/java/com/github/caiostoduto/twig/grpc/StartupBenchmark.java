@@ -0,0 +1,116 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.google.protobuf.GeneratedMessageLite;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessRequest;
+
+/**
+ * Startup cost of the gRPC client: building the channel and warming up the
+ * join-path messages, as logged by "gRPC channel ready in". Each run is a
+ * fresh JVM so class loading is measured every time. Run with
+ * {@code ./gradlew startupBenchmark [-PprotobufLite] [-PbenchmarkRuns=n]}.
+ */
+public final class StartupBenchmark {
+    private static final String CHILD_FLAG = "--child";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if (args.length == 1 && args[0].equals(CHILD_FLAG)) {
+            measure();
+            return;
+        }
+
+        final int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        final long[] nanos = new long[runs];
+        final long[] metaspace = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            final long[] result = runChild();
+            nanos[i] = result[0];
+            metaspace[i] = result[1];
+        }
+
+        final String runtime = GeneratedMessageLite.class.isAssignableFrom(PlayerAccessRequest.class)
+                ? "protobuf-javalite"
+                : "protobuf-java";
+        System.out.printf("Channel build and message warm-up, %s, %d fresh JVMs%n", runtime, runs);
+        report("time (ms)", nanos, TimeUnit.MILLISECONDS.toNanos(1));
+        report("metaspace (KiB)", metaspace, 1024);
+    }
+
+    /**
+     * The measured part, in a fresh JVM: what {@link MinecraftBridgeClient} does
+     * before the first join. Prints the elapsed nanoseconds and metaspace bytes
+     */
+    private static void measure() {
+        final Logger logger = NOPLogger.NOP_LOGGER;
+        final long metaspaceBefore = getMetaspaceUsed();
+        final long startNanos = System.nanoTime();
+
+        // Built on the calling thread, the channel connects lazily so no server is needed
+        new MinecraftBridgeClient(TwigConfig.from(Map.of()), logger, Runnable::run);
+
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        System.out.println(elapsedNanos + " " + (getMetaspaceUsed() - metaspaceBefore));
+        // Skips the graceful shutdown, the event loop threads would keep the JVM alive
+        System.exit(0);
+    }
+
+    private static long[] runChild() throws IOException, InterruptedException {
+        final String java = ProcessHandle.current().info().command()
+                .orElseThrow(() -> new IllegalStateException("Cannot locate the java executable"));
+        final Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                StartupBenchmark.class.getName(), CHILD_FLAG)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        String last = null;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                last = line;
+            }
+        }
+        if (child.waitFor() != 0 || last == null) {
+            throw new IllegalStateException("Benchmark run failed with exit code " + child.exitValue());
+        }
+
+        final String[] fields = last.trim().split(" ");
+        return new long[] { Long.parseLong(fields[0]), Long.parseLong(fields[1]) };
+    }
+
+    private static void report(final String name, final long[] values, final long unit) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        System.out.printf("  %-16s min %d, median %d, max %d%n", name, sorted[0] / unit,
+                sorted[sorted.length / 2] / unit, sorted[sorted.length - 1] / unit);
+    }
+
+    /**
+     * Bytes of class metadata currently loaded, or 0 if the JVM doesn't report it
+     */
+    private static long getMetaspaceUsed() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals("Metaspace")) {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return 0;
+    }
+}
@@ -1,34 +1,63 @@
 package com.github.caiostoduto.twig;
 
-import com.github.caiostoduto.twig.auth.AuthenticationEntry;
-import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.github.caiostoduto.twig.api.TwigAccessService;
+import com.github.caiostoduto.twig.auth.AccessChecker;
+import com.github.caiostoduto.twig.auth.AccessDecisionCache;
+import com.github.caiostoduto.twig.auth.AccessService;
+import com.github.caiostoduto.twig.auth.DecisionStore;
+import com.github.caiostoduto.twig.auth.InMemoryDecisionStore;
+import com.github.caiostoduto.twig.auth.RedisDecisionStore;
+import com.github.caiostoduto.twig.commands.TwigCommand;
 import com.github.caiostoduto.twig.config.ConfigManager;
+import com.github.caiostoduto.twig.config.ConfigWatcher;
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.github.caiostoduto.twig.diag.JoinTiming;
+import com.github.caiostoduto.twig.diag.RingBuffer;
+import com.github.caiostoduto.twig.grpc.BridgeExecutor;
+import com.github.caiostoduto.twig.grpc.EventRecorder;
+import com.github.caiostoduto.twig.grpc.EventReplayer;
 import com.github.caiostoduto.twig.grpc.MinecraftBridgeClient;
 import com.github.caiostoduto.twig.listeners.AuthenticationLoginHandler;
+import com.github.caiostoduto.twig.listeners.EventInterestHandler;
 import com.github.caiostoduto.twig.listeners.LimboHandler;
 import com.github.caiostoduto.twig.listeners.PlayerUpdateEventHandler;
+import com.github.caiostoduto.twig.listeners.ServerRegistrationHandler;
+import com.github.caiostoduto.twig.logging.HotPathLogger;
+import com.github.caiostoduto.twig.player.ConnectedPlayer;
+import com.github.caiostoduto.twig.player.LimboMembership;
+import com.github.caiostoduto.twig.player.PlayerRegistry;
+import com.github.caiostoduto.twig.player.ReleaseScheduler;
+import com.github.caiostoduto.twig.player.VerificationScheduler;
 import com.google.inject.Inject;
+import com.velocitypowered.api.command.CommandMeta;
 import com.velocitypowered.api.event.proxy.ProxyInitializeEvent;
 import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.plugin.Plugin;
 import com.velocitypowered.api.plugin.annotation.DataDirectory;
 import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
 
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Plugin(id = "twig", name = "Twig", version = BuildConstants.VERSION, url = "https://github.com/caiostoduto/twig-velocity", authors = {
         "Caio Stoduto" })
 public class Twig {
+    private static final int MAX_REGISTRATION_RETRY_SECONDS = 60;
+    private static final Duration SHUTDOWN_DRAIN_TIMEOUT = Duration.ofMillis(500);
+    private static final int RECENT_JOIN_TIMINGS = 256;
+    private static final Duration DECISION_SWEEP_INTERVAL = Duration.ofMinutes(1);
+
     @Inject
     private Logger logger;
     @Inject
@@ -36,10 +65,21 @@ public class Twig {
 
     private final Path dataDirectory;
     private ConfigManager configManager;
+    private ConfigWatcher configWatcher;
     private MinecraftBridgeClient grpcClient;
+    private BridgeExecutor bridgeExecutor;
+    private PlayerUpdateEventHandler playerUpdateHandler;
+    private ServerRegistrationHandler serverRegistrationHandler;
+    private VerificationScheduler verificationScheduler;
+    private ReleaseScheduler releaseScheduler;
+    private EventRecorder eventRecorder;
+    private AccessDecisionCache decisionCache;
+    private AccessChecker accessChecker;
+    private TwigAccessService accessService;
+    private Path decisionSnapshotFile;
 
-    // Hash table for authentication queue using composite key (username + IP)
-    private final Map<PlayerIdentifier, AuthenticationEntry> authQueue = new HashMap<>();
+    // Connected players indexed by UUID, identifier and current server, including pending authentications
+    private final PlayerRegistry players = new PlayerRegistry();
 
     @Inject
     public Twig(@DataDirectory final Path dataDirectory) {
@@ -48,6 +88,9 @@ public class Twig {
 
     @Subscribe
     public void onProxyInitialization(ProxyInitializeEvent event) throws IOException {
+        final long startNanos = System.nanoTime();
+        final long metaspaceBefore = getMetaspaceUsed();
+
         // Create the plugin folder if it doesn't exist
         if (!Files.exists(dataDirectory)) {
             Files.createDirectories(dataDirectory);
@@ -55,75 +98,181 @@ public class Twig {
         }
 
         // Initialize config manager and load config
-        configManager = new ConfigManager(dataDirectory);
+        configManager = new ConfigManager(dataDirectory, logger);
         configManager.load();
+        final TwigConfig config = configManager.getSnapshot();
+        config.getWarnings().forEach(logger::warn);
+
+        // Watch config.yml so changes apply without a restart
+        configWatcher = new ConfigWatcher(configManager, logger);
+        configWatcher.start();
 
         // Retrieve proxy UUID from config
-        final String proxyUuid = configManager.getString("twig_uuid");
+        final String proxyUuid = config.getTwigUuid();
         logger.info("Twig UUID: {}", proxyUuid);
 
-        // Initialize gRPC client
-        String grpcHost = configManager.getString("grpc_host", "127.0.0.1");
-        int grpcPort = configManager.getInt("grpc_port", 50051);
-        grpcClient = new MinecraftBridgeClient(grpcHost, grpcPort, logger);
-        logger.info("gRPC client initialized: {}:{}", grpcHost, grpcPort);
+        // Blocking bridge work runs off the proxy threads, on virtual threads when available
+        bridgeExecutor = new BridgeExecutor(config.isBridgeVirtualThreads(), config.getBridgePlatformThreads());
+        logger.info("Blocking gRPC work runs on {}", bridgeExecutor.isVirtual()
+                ? "virtual threads" : config.getBridgePlatformThreads() + " platform threads");
+
+        // Initialize gRPC client, the channel is built on the bridge executor
+        grpcClient = new MinecraftBridgeClient(config, logger, bridgeExecutor);
+        logger.info("gRPC client initialized: {}", config.getGrpcTarget());
+
+        // Record the event stream to disk if requested
+        final String recordingFile = config.getEventRecordingFile();
+        if (!recordingFile.trim().isEmpty()) {
+            eventRecorder = new EventRecorder(dataDirectory.resolve(recordingFile), logger);
+            grpcClient.setEventRecorder(eventRecorder);
+            logger.info("Recording event stream to {}", eventRecorder.getFile());
+        }
+
+        // Pre-warm the decision cache from the last snapshot so a restart doesn't hit the bot with every join
+        decisionCache = new AccessDecisionCache(config.getAccessCacheTtlSeconds() * 1000L,
+                createDecisionStore(config));
+        decisionCache.setStaleMillis(config.getAccessStaleWindowSeconds() * 1000L);
+        configManager.addReloadListener(reloaded -> {
+            decisionCache.setTtlMillis(reloaded.getAccessCacheTtlSeconds() * 1000L);
+            decisionCache.setStaleMillis(reloaded.getAccessStaleWindowSeconds() * 1000L);
+        });
+        // Drop decisions past their stale window, players who never come back are never read again
+        proxyServer.getScheduler().buildTask(this, decisionCache::sweep)
+                .delay(DECISION_SWEEP_INTERVAL)
+                .repeat(DECISION_SWEEP_INTERVAL)
+                .schedule();
+        decisionSnapshotFile = dataDirectory.resolve("decisions.bin");
+        if (isDecisionSnapshotEnabled()) {
+            try {
+                logger.info("Loaded {} cached access decision(s) from snapshot",
+                        decisionCache.loadSnapshot(decisionSnapshotFile));
+            } catch (IOException e) {
+                logger.warn("Failed to load access decision snapshot: {}", e.getMessage());
+            }
+
+            final Duration snapshotInterval = Duration.ofSeconds(config.getDecisionSnapshotIntervalSeconds());
+            proxyServer.getScheduler().buildTask(this, this::writeDecisionSnapshot)
+                    .delay(snapshotInterval)
+                    .repeat(snapshotInterval)
+                    .schedule();
+        }
+        accessChecker = new AccessChecker(configManager, grpcClient, decisionCache, bridgeExecutor, logger);
+
+        // Other plugins on the proxy share the same cache and RPCs through the access service
+        accessService = new AccessService(accessChecker, players, logger);
+
+        proxyServer.getEventManager().register(this, players);
+
+        // Filter the event subscription to the players online on this proxy
+        grpcClient.getInterest().setOnlinePlayers(() -> players.getAll().stream()
+                .map(ConnectedPlayer::getId)
+                .collect(Collectors.toList()));
+        proxyServer.getEventManager().register(this, new EventInterestHandler(grpcClient.getInterest(),
+                accessChecker, config.isGrpcEventInterestFilter(), bridgeExecutor));
+
+        // Players on the limbo server, so command events skip config and name lookups
+        final LimboMembership limbo = new LimboMembership(proxyServer, configManager, players);
+        proxyServer.getEventManager().register(this, limbo);
+        configManager.addReloadListener(limbo::rebuild);
+
+        // Sampled, rate-limited logging for the login and event hot paths
+        final HotPathLogger hotLog = new HotPathLogger(logger, config);
+        configManager.addReloadListener(hotLog::applyConfig);
+        if (config.getLogSummaryIntervalSeconds() > 0) {
+            final Duration summaryInterval = Duration.ofSeconds(config.getLogSummaryIntervalSeconds());
+            proxyServer.getScheduler().buildTask(this, hotLog::logSummary)
+                    .delay(summaryInterval)
+                    .repeat(summaryInterval)
+                    .schedule();
+        }
+
+        // Pace transfers out of limbo so mass verifications don't flood the backends
+        releaseScheduler = new ReleaseScheduler(this, logger, hotLog, proxyServer, configManager);
+        releaseScheduler.start();
+
+        playerUpdateHandler = new PlayerUpdateEventHandler(logger, hotLog, proxyServer, configManager,
+                accessChecker, players, releaseScheduler, bridgeExecutor);
 
-        // Collect server names from Velocity
-        List<String> serverNames = proxyServer.getAllServers().stream()
-                .map(server -> server.getServerInfo().getName())
-                .filter(server -> !server.equals(configManager.getString("proxy_limbo")))
-                .collect(Collectors.toList());
+        // Continuously re-check online players in small, rate-limited slices
+        verificationScheduler = new VerificationScheduler(this, logger, proxyServer, configManager, players,
+                playerUpdateHandler::verifyPlayer, bridgeExecutor);
+        verificationScheduler.start();
 
-        // Start async task to register proxy with retry logic
-        proxyServer.getScheduler().buildTask(this, () -> {
-            attemptProxyRegistration(proxyUuid, serverNames);
-        }).schedule();
+        // Track servers registered at runtime
+        serverRegistrationHandler = new ServerRegistrationHandler(this, logger, proxyServer, configManager,
+                grpcClient, bridgeExecutor);
+        proxyServer.getEventManager().register(this, serverRegistrationHandler);
 
-        // Register event listeners
+        // Register the proxy off the proxy threads, with retry logic
+        bridgeExecutor.execute(() -> attemptProxyRegistration(proxyUuid, 1));
+
+        // Register event listeners, recent join timings are kept for /twig diag
+        final RingBuffer<JoinTiming> joinTimings = new RingBuffer<>(RECENT_JOIN_TIMINGS);
         AuthenticationLoginHandler loginHandler = new AuthenticationLoginHandler(
-                logger, proxyServer, configManager, grpcClient, authQueue);
+                logger, hotLog, configManager, accessChecker, players, limbo, joinTimings);
         proxyServer.getEventManager().register(this, loginHandler);
 
-        LimboHandler limboHandler = new LimboHandler(this, logger, proxyServer, configManager, authQueue);
+        LimboHandler limboHandler = new LimboHandler(this, logger, hotLog, proxyServer, configManager,
+                players, limbo);
         proxyServer.getEventManager().register(this, limboHandler);
 
-        logger.info("Twig plugin initialized successfully!");
+        // Register admin command
+        final CommandMeta commandMeta = proxyServer.getCommandManager().metaBuilder("twig").plugin(this).build();
+        proxyServer.getCommandManager().register(commandMeta, new TwigCommand(this, logger, proxyServer,
+                dataDirectory, new EventReplayer(grpcClient), playerUpdateHandler, limbo, grpcClient, joinTimings,
+                players, releaseScheduler, accessChecker));
+
+        // Tracked across releases, see "Startup" in the README
+        logger.info("Twig plugin initialized successfully in {} ms (metaspace +{} KiB)",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                (getMetaspaceUsed() - metaspaceBefore) / 1024);
+    }
+
+    /**
+     * Access checks for other plugins, available once the proxy has initialized
+     *
+     * @return The access service, or null before initialization
+     */
+    public TwigAccessService getAccessService() {
+        return accessService;
     }
 
     /**
      * Attempt to register the proxy with the gRPC server
-     * Retries indefinitely with exponential backoff on failure
+     * Retries on the proxy scheduler with exponential backoff on failure, so
+     * no thread sleeps between attempts and shutdown cancels pending retries.
+     * Attempts run on the bridge executor.
      */
-    private void attemptProxyRegistration(final String proxyId, final List<String> serverNames) {
-        int retryDelay = 1; // Initial delay in seconds
-        final int maxDelay = 60; // Maximum delay in seconds
+    private void attemptProxyRegistration(final String proxyId, final int retryDelay) {
+        if (grpcClient.isRegistered() || grpcClient.isShutdown()) {
+            return;
+        }
 
-        while (!grpcClient.isRegistered() && !grpcClient.isShutdown()) {
-            try {
-                logger.info("Attempting to register proxy with {} servers...", serverNames.size());
-                grpcClient.registerProxy(proxyId, serverNames);
-
-                // After successful registration, subscribe to events
-                if (grpcClient.isRegistered()) {
-                    subscribeToEvents(proxyId);
-                }
-
-                return; // Registration successful
-            } catch (Exception e) {
-                logger.error("Failed to register proxy: {}. Retrying in {} seconds...",
-                        e.getMessage(), retryDelay);
-
-                try {
-                    TimeUnit.SECONDS.sleep(retryDelay);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    logger.warn("Proxy registration interrupted");
-                    return;
-                }
-
-                // Exponential backoff with cap
-                retryDelay = Math.min(retryDelay * 2, maxDelay);
+        try {
+            // Collect server names from Velocity on every attempt so retries are never stale
+            final List<String> serverNames = serverRegistrationHandler.collectServerNames();
+            logger.info("Attempting to register proxy with {} servers...", serverNames.size());
+            grpcClient.registerProxy(proxyId, serverNames);
+
+            // After successful registration, subscribe to events
+            if (grpcClient.isRegistered()) {
+                serverRegistrationHandler.onFullRegistration(serverNames);
+                subscribeToEvents(proxyId);
+            }
+        } catch (Exception e) {
+            if (grpcClient.isShutdown()) {
+                return;
             }
+            logger.error("Failed to register proxy: {}. Retrying in {} seconds...",
+                    e.getMessage(), retryDelay);
+
+            // Exponential backoff with cap
+            final int nextDelay = Math.min(retryDelay * 2, MAX_REGISTRATION_RETRY_SECONDS);
+            // The scheduler only keeps time, the attempt itself blocks on the bridge executor
+            proxyServer.getScheduler().buildTask(this,
+                    () -> bridgeExecutor.execute(() -> attemptProxyRegistration(proxyId, nextDelay)))
+                    .delay(Duration.ofSeconds(retryDelay))
+                    .schedule();
         }
     }
 
@@ -131,45 +280,143 @@ public class Twig {
      * Subscribe to gRPC server events
      */
     private void subscribeToEvents(final String proxyId) {
-        // Create player update event handler
-        final PlayerUpdateEventHandler playerUpdateHandler = new PlayerUpdateEventHandler(
-                logger, proxyServer, configManager, grpcClient, authQueue);
-
         // Subscribe to events with the handler callback and reconnection callback
         grpcClient.subscribeEvents(proxyId, playerUpdateHandler::handleEvent, () -> {
             logger.info("gRPC event stream reconnected");
 
             logger.info("Re-registering proxy with gRPC server...");
             // Get proxy UUID from config
-            final String proxyUuid = configManager.getString("twig_uuid");
-
-            // Collect server names from Velocity
-            List<String> serverNames = proxyServer.getAllServers().stream()
-                    .map(server -> server.getServerInfo().getName())
-                    .filter(server -> !server.equals(configManager.getString("proxy_limbo")))
-                    .collect(Collectors.toList());
+            final String proxyUuid = configManager.getStartupSnapshot().getTwigUuid();
 
-            // Start async task to register proxy with retry logic
-            proxyServer.getScheduler().buildTask(this, () -> {
-                attemptProxyRegistration(proxyUuid, serverNames);
-            }).schedule();
+            // Register the proxy off the proxy threads, with retry logic
+            bridgeExecutor.execute(() -> attemptProxyRegistration(proxyUuid, 1));
 
             // When reconnected, check all players to ensure they still have access
-            logger.info("Checking all players...");
-            playerUpdateHandler.checkAllPlayers();
+            if (verificationScheduler.isEnabled()) {
+                // Events may have been missed while disconnected
+                accessChecker.invalidateAll();
+                verificationScheduler.resetAll();
+                logger.info("Queued all players for background re-verification");
+            } else {
+                logger.info("Checking all players...");
+                playerUpdateHandler.checkAllPlayers();
+            }
         });
-        logger.info("Subscribed to player_update events");
+        logger.info("Subscribed to player events");
     }
 
+    /**
+     * Bytes of class metadata currently loaded, or 0 if the JVM doesn't report it
+     */
+    private static long getMetaspaceUsed() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals("Metaspace")) {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Create the store holding access decisions, shared with other proxies if configured
+     */
+    private DecisionStore createDecisionStore(final TwigConfig config) {
+        switch (config.getDecisionStore()) {
+            case "redis":
+                logger.info("Sharing access decisions through {}:{}", config.getDecisionStoreHost(),
+                        config.getDecisionStorePort());
+                return new RedisDecisionStore(config.getDecisionStoreHost(), config.getDecisionStorePort(),
+                        config.getDecisionStorePassword(), config.getDecisionStoreTimeoutMillis(), logger);
+            case "memory":
+                return new InMemoryDecisionStore();
+            default:
+                logger.warn("Unknown decision_store `{}`, keeping decisions in memory", config.getDecisionStore());
+                return new InMemoryDecisionStore();
+        }
+    }
+
+    /**
+     * The snapshot only covers decisions local to this proxy
+     */
+    private boolean isDecisionSnapshotEnabled() {
+        return configManager.getStartupSnapshot().getDecisionSnapshotIntervalSeconds() > 0
+                && !decisionCache.getStore().isShared();
+    }
+
+    /**
+     * Persist cached access decisions for warm restarts
+     */
+    private void writeDecisionSnapshot() {
+        try {
+            final int written = decisionCache.writeSnapshot(decisionSnapshotFile);
+            logger.debug("Wrote {} access decision(s) to snapshot", written);
+        } catch (IOException e) {
+            logger.warn("Failed to write access decision snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Shut down in order: stop accepting checks, drain in-flight RPCs, cancel
+     * every scheduled task, flush state to disk, then close the channel
+     */
     @Subscribe
     public void onProxyShutdown(ProxyShutdownEvent event) {
-        if (grpcClient != null && !grpcClient.isShutdown()) {
+        final long startNanos = System.nanoTime();
+
+        if (configWatcher != null) {
+            try {
+                configWatcher.close();
+            } catch (IOException e) {
+                logger.error("Failed to close config watcher", e);
+            }
+        }
+
+        if (grpcClient != null) {
+            try {
+                grpcClient.drain(SHUTDOWN_DRAIN_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while draining gRPC calls");
+            }
+        }
+
+        // Limbo reminders, background verification, limbo release, snapshot and retry tasks in one sweep
+        if (verificationScheduler != null) {
+            verificationScheduler.stop();
+        }
+        if (releaseScheduler != null) {
+            releaseScheduler.stop();
+        }
+        proxyServer.getScheduler().tasksByPlugin(this).forEach(ScheduledTask::cancel);
+        if (bridgeExecutor != null) {
+            bridgeExecutor.shutdown();
+        }
+
+        if (decisionCache != null) {
+            if (isDecisionSnapshotEnabled()) {
+                writeDecisionSnapshot();
+            }
+            decisionCache.getStore().close();
+        }
+
+        if (eventRecorder != null) {
+            try {
+                eventRecorder.close();
+            } catch (IOException e) {
+                logger.error("Failed to close event recording", e);
+            }
+        }
+
+        if (grpcClient != null) {
             try {
                 logger.info("Shutting down gRPC client...");
                 grpcClient.shutdown();
             } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 logger.error("Failed to shutdown gRPC client", e);
             }
+            logger.info("Twig shut down in {} ms ({} RPCs issued)",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), grpcClient.getRpcCount());
         }
     }
-}
\ No newline at end of file
+}
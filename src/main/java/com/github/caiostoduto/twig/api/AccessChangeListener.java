@@ -0,0 +1,19 @@
+package com.github.caiostoduto.twig.api;
+
+import com.velocitypowered.api.proxy.Player;
+
+/**
+ * Notified when Twig fetches a new access decision for an online player or
+ * drops decisions after an event from the Twig bot. Called on the thread that
+ * fetched or dropped the decision, so implementations should return quickly.
+ */
+@FunctionalInterface
+public interface AccessChangeListener {
+    /**
+     * @param player     The affected player
+     * @param serverName The server the decision applies to, or null for every server
+     * @param status     The new decision, which may equal the previous one, or
+     *                   null if decisions were dropped and must be checked again
+     */
+    void onAccessChanged(Player player, String serverName, AccessStatus status);
+}
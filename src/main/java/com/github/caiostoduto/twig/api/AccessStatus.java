@@ -0,0 +1,13 @@
+package com.github.caiostoduto.twig.api;
+
+/**
+ * Whether a player may join a server, as decided by the Twig bot.
+ */
+public enum AccessStatus {
+    /** The player may join the server */
+    ALLOWED,
+    /** The player may not join the server */
+    PROHIBITED,
+    /** The player must sign up on Discord first, Twig sends them to limbo */
+    REQUIRES_SIGNUP
+}
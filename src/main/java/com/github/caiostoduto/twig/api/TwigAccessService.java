@@ -0,0 +1,47 @@
+package com.github.caiostoduto.twig.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.velocitypowered.api.proxy.Player;
+
+/**
+ * Access checks for other plugins on the proxy, answered from the same
+ * decision cache, in-flight RPCs and event invalidation as Twig's own join
+ * checks. Obtain it from the Twig plugin instance:
+ *
+ * <pre>
+ * proxyServer.getPluginManager().getPlugin("twig")
+ *         .flatMap(PluginContainer::getInstance)
+ *         .map(twig -&gt; ((Twig) twig).getAccessService())
+ * </pre>
+ *
+ * Futures are completed on Twig's threads, or immediately for cached
+ * decisions, and complete exceptionally if the Twig bot cannot be reached.
+ */
+public interface TwigAccessService {
+    /**
+     * Check whether a player may join a server
+     */
+    CompletableFuture<AccessStatus> checkAccess(Player player, String serverName);
+
+    /**
+     * Check whether several players may join a server, e.g. a party moving together
+     *
+     * @return Each player's status, completed once every check finished
+     */
+    CompletableFuture<Map<Player, AccessStatus>> checkAccess(Collection<? extends Player> players,
+            String serverName);
+
+    /**
+     * Check which of several servers a player may join, e.g. for a server selector
+     *
+     * @return The status for each server, completed once every check finished
+     */
+    CompletableFuture<Map<String, AccessStatus>> checkAccess(Player player, Collection<String> serverNames);
+
+    void addChangeListener(AccessChangeListener listener);
+
+    void removeChangeListener(AccessChangeListener listener);
+}
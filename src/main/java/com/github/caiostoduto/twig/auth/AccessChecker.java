@@ -0,0 +1,308 @@
+package com.github.caiostoduto.twig.auth;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.config.ConfigManager;
+import com.github.caiostoduto.twig.grpc.MinecraftBridgeClient;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+/**
+ * Resolves access decisions through the {@link AccessDecisionCache}, falling
+ * back to the gRPC server on a miss. Concurrent asynchronous checks for the
+ * same player and server share one RPC, and every fresh or dropped decision
+ * is reported to the registered {@link DecisionListener}s. A response fetched
+ * before its player's decisions were invalidated is returned to the caller but
+ * neither cached nor reported.
+ */
+public class AccessChecker {
+    private final ConfigManager configManager;
+    private final MinecraftBridgeClient grpcClient;
+    private final AccessDecisionCache cache;
+    private final Executor executor;
+    private final Logger logger;
+    private final Map<PlayerIdentifier, Map<String, CompletableFuture<PlayerAccessResponse>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final List<DecisionListener> listeners = new CopyOnWriteArrayList<>();
+    // Invalidation generations, per player only while fresh checks for them are running
+    private final Map<PlayerIdentifier, Generation> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    /**
+     * @param executor Runs asynchronous checks and background revalidations
+     */
+    public AccessChecker(final ConfigManager configManager, final MinecraftBridgeClient grpcClient,
+            final AccessDecisionCache cache, final Executor executor, final Logger logger) {
+        this.configManager = configManager;
+        this.grpcClient = grpcClient;
+        this.cache = cache;
+        this.executor = executor;
+        this.logger = logger;
+    }
+
+    /**
+     * Check player access, serving unexpired cached decisions
+     *
+     * @param playerId   The player's identifier
+     * @param serverName The target server name
+     * @return PlayerAccessResponse containing access status and optional
+     *         authentication URL
+     * @throws io.grpc.StatusRuntimeException if the RPC fails
+     */
+    public PlayerAccessResponse check(final PlayerIdentifier playerId, final String serverName) {
+        final PlayerAccessResponse cached = cache.get(playerId, serverName);
+        if (cached != null) {
+            return cached;
+        }
+        return checkFresh(playerId, serverName);
+    }
+
+    /**
+     * Check player access with the gRPC server, bypassing and refreshing the cache
+     *
+     * @param playerId   The player's identifier
+     * @param serverName The target server name
+     * @return PlayerAccessResponse containing access status and optional
+     *         authentication URL
+     * @throws io.grpc.StatusRuntimeException if the RPC fails
+     */
+    public PlayerAccessResponse checkFresh(final PlayerIdentifier playerId, final String serverName) {
+        final Generation generation = generations.compute(playerId, (key, running) -> {
+            final Generation current = running != null ? running : new Generation();
+            current.checks++;
+            return current;
+        });
+        final long playerStamp = generation.value;
+        final long globalStamp = globalGeneration.get();
+
+        final PlayerAccessResponse response;
+        try {
+            response = grpcClient.checkPlayerAccess(playerId, serverName,
+                    configManager.getStartupSnapshot().getTwigUuid());
+
+            // Locked against invalidate() so the put can't land between its bump and its cache drop
+            synchronized (generation) {
+                if (generation.value != playerStamp || globalGeneration.get() != globalStamp) {
+                    logger.debug("Discarding access decision for {} on `{}` fetched before an invalidation",
+                            playerId, serverName);
+                    return response;
+                }
+                cache.put(playerId, serverName, response);
+            }
+        } finally {
+            generations.computeIfPresent(playerId, (key, running) -> --running.checks == 0 ? null : running);
+        }
+
+        for (DecisionListener listener : listeners) {
+            try {
+                listener.onDecision(playerId, serverName, response);
+            } catch (RuntimeException e) {
+                logger.error("Error in access decision listener: {}", e.getMessage(), e);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Check player access without blocking the caller. Cached decisions complete
+     * immediately, unless the store is shared and read on the executor;
+     * otherwise callers checking the same player and server at the same time
+     * share one RPC.
+     *
+     * @return The response, completed exceptionally if the RPC fails
+     */
+    public CompletableFuture<PlayerAccessResponse> checkAsync(final PlayerIdentifier playerId,
+            final String serverName) {
+        return lookUp(playerId, serverName).thenCompose(cached -> cached != null && !cached.isStale()
+                ? CompletableFuture.completedFuture(cached.getResponse())
+                : fetch(playerId, serverName));
+    }
+
+    /**
+     * Check player access for a join without blocking the caller, with a single
+     * cache read. A stale ALLOWED decision is returned as is, the caller lets
+     * the player in and {@link #revalidate revalidates} it.
+     *
+     * @return The decision, completed exceptionally if the RPC fails
+     */
+    public CompletableFuture<AccessDecision> checkJoin(final PlayerIdentifier playerId, final String serverName) {
+        return lookUp(playerId, serverName).thenCompose(cached -> cached != null
+                ? CompletableFuture.completedFuture(cached)
+                : fetch(playerId, serverName).thenApply(response -> new AccessDecision(response, false)));
+    }
+
+    /**
+     * Read the cache, on the executor if the store is shared so its round trip
+     * never runs on the caller's thread
+     */
+    private CompletableFuture<AccessDecision> lookUp(final PlayerIdentifier playerId, final String serverName) {
+        if (!cache.getStore().isShared()) {
+            return CompletableFuture.completedFuture(cache.lookup(playerId, serverName));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> cache.lookup(playerId, serverName), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Fetch a fresh decision on the executor, shared with concurrent callers
+     */
+    private CompletableFuture<PlayerAccessResponse> fetch(final PlayerIdentifier playerId,
+            final String serverName) {
+        final Map<String, CompletableFuture<PlayerAccessResponse>> servers = inFlight
+                .computeIfAbsent(playerId, key -> new ConcurrentHashMap<>());
+        final CompletableFuture<PlayerAccessResponse> created = new CompletableFuture<>();
+        final CompletableFuture<PlayerAccessResponse> existing = servers.putIfAbsent(serverName, created);
+        if (existing != null) {
+            // Copied so one caller cancelling doesn't cancel the others
+            return existing.copy();
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    final PlayerAccessResponse response = checkFresh(playerId, serverName);
+                    finishInFlight(playerId, serverName, created);
+                    created.complete(response);
+                } catch (RuntimeException e) {
+                    finishInFlight(playerId, serverName, created);
+                    created.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finishInFlight(playerId, serverName, created);
+            created.completeExceptionally(e);
+        }
+        return created.copy();
+    }
+
+    private void finishInFlight(final PlayerIdentifier playerId, final String serverName,
+            final CompletableFuture<PlayerAccessResponse> future) {
+        inFlight.computeIfPresent(playerId, (key, servers) -> {
+            servers.remove(serverName, future);
+            return servers.isEmpty() ? null : servers;
+        });
+    }
+
+    /**
+     * Check player access with the gRPC server in the background, refreshing the cache
+     *
+     * @return The fresh response, completed exceptionally if the RPC fails
+     */
+    public CompletableFuture<PlayerAccessResponse> revalidate(final PlayerIdentifier playerId,
+            final String serverName) {
+        return CompletableFuture.supplyAsync(() -> checkFresh(playerId, serverName), executor);
+    }
+
+    /**
+     * Drop every decision for a player, e.g. after a player_update event.
+     * Checks already in flight are no longer shared with later callers.
+     */
+    public void invalidate(final PlayerIdentifier playerId) {
+        final Generation generation = generations.get(playerId);
+        if (generation != null) {
+            synchronized (generation) {
+                generation.value++;
+            }
+        }
+        cache.invalidate(playerId);
+        inFlight.remove(playerId);
+        notifyInvalidated(playerId, null);
+    }
+
+    /**
+     * Drop every player's decision for one server, e.g. after its access was revoked
+     */
+    public void invalidateServer(final String serverName) {
+        globalGeneration.incrementAndGet();
+        cache.invalidateServer(serverName);
+        inFlight.values().forEach(servers -> servers.remove(serverName));
+        notifyInvalidated(null, serverName);
+    }
+
+    /**
+     * Drop every decision this proxy can see, e.g. after events may have been
+     * missed. Decisions in a shared store are ignored here, not deleted.
+     */
+    public void invalidateAll() {
+        globalGeneration.incrementAndGet();
+        cache.invalidateAll();
+        inFlight.clear();
+        notifyInvalidated(null, null);
+    }
+
+    /**
+     * Drop every decision, including those shared with other proxies. Scans a
+     * shared store, so this is only meant for an explicit admin action.
+     */
+    public void purgeAll() {
+        globalGeneration.incrementAndGet();
+        cache.purgeAll();
+        inFlight.clear();
+        notifyInvalidated(null, null);
+    }
+
+    private void notifyInvalidated(final PlayerIdentifier playerId, final String serverName) {
+        for (DecisionListener listener : listeners) {
+            try {
+                listener.onInvalidated(playerId, serverName);
+            } catch (RuntimeException e) {
+                logger.error("Error in access decision listener: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    public void addListener(final DecisionListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(final DecisionListener listener) {
+        listeners.remove(listener);
+    }
+
+    public AccessDecisionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Counts the invalidations of a player while fresh checks for them run.
+     * The check count is only changed inside the map's compute functions.
+     */
+    private static final class Generation {
+        private int checks;
+        private volatile long value;
+    }
+
+    /**
+     * Notified of decisions fetched from the gRPC server and of dropped decisions.
+     * Called on the thread that fetched or dropped them.
+     */
+    public interface DecisionListener {
+        /**
+         * A fresh decision was fetched; its status may equal the previous one
+         */
+        void onDecision(PlayerIdentifier playerId, String serverName, PlayerAccessResponse response);
+
+        /**
+         * Decisions were dropped and must be checked again
+         *
+         * @param playerId   The player, or null for every player
+         * @param serverName The server, or null for every server
+         */
+        void onInvalidated(PlayerIdentifier playerId, String serverName);
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.caiostoduto.twig.auth;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+/**
+ * An access decision for a join, either current or a stale ALLOWED decision
+ * that lets the player in while it is revalidated.
+ */
+public final class AccessDecision {
+    private final PlayerAccessResponse response;
+    private final boolean stale;
+
+    public AccessDecision(final PlayerAccessResponse response, final boolean stale) {
+        if (response == null) {
+            throw new IllegalArgumentException("Response cannot be null");
+        }
+        this.response = response;
+        this.stale = stale;
+    }
+
+    public PlayerAccessResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Whether the decision expired and must be revalidated
+     */
+    public boolean isStale() {
+        return stale;
+    }
+}
@@ -0,0 +1,247 @@
+package com.github.caiostoduto.twig.auth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessStatus;
+import minecraft_bridge.MinecraftBridgeOuterClass.DecisionSnapshotEntry;
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+/**
+ * Caches access decisions per player and target server for a bounded time.
+ * Decisions are invalidated by player_update events and can be persisted to
+ * disk so a restarted proxy does not send every join to the gRPC server.
+ * Expired ALLOWED decisions are kept for a stale window, during which they
+ * can be served while they are revalidated. Decisions are held by a
+ * {@link DecisionStore}, which may be shared with other proxies.
+ */
+public class AccessDecisionCache {
+    private final DecisionStore store;
+    private volatile long ttlMillis;
+    private volatile long staleMillis;
+    // Decisions stored at or before this time are ignored by this proxy
+    private volatile long invalidatedAt;
+
+    public AccessDecisionCache(final long ttlMillis) {
+        this(ttlMillis, new InMemoryDecisionStore());
+    }
+
+    public AccessDecisionCache(final long ttlMillis, final DecisionStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("Decision store cannot be null");
+        }
+        this.ttlMillis = ttlMillis;
+        this.store = store;
+    }
+
+    public void setTtlMillis(final long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public void setStaleMillis(final long staleMillis) {
+        this.staleMillis = staleMillis;
+    }
+
+    public DecisionStore getStore() {
+        return store;
+    }
+
+    /**
+     * Get a decision that has not expired yet
+     *
+     * @return The cached response, or null if absent or expired
+     */
+    public PlayerAccessResponse get(final PlayerIdentifier playerId, final String serverName) {
+        final StoredDecision decision = store.get(playerId, serverName);
+        if (decision == null || decision.getStoredAt() <= invalidatedAt) {
+            return null;
+        }
+
+        final long now = System.currentTimeMillis();
+        if (decision.getExpiresAt() <= now) {
+            if (!isStaleAllowed(decision, now)) {
+                store.evict(playerId, serverName, decision);
+            }
+            return null;
+        }
+        return decision.getResponse();
+    }
+
+    /**
+     * Get a decision a join can proceed on with a single store read: an
+     * unexpired decision, or an expired ALLOWED decision still within the
+     * stale window
+     *
+     * @return The decision, or null if the player must wait for a check
+     */
+    public AccessDecision lookup(final PlayerIdentifier playerId, final String serverName) {
+        final StoredDecision decision = store.get(playerId, serverName);
+        if (decision == null || decision.getStoredAt() <= invalidatedAt) {
+            return null;
+        }
+
+        final long now = System.currentTimeMillis();
+        if (decision.getExpiresAt() > now) {
+            return new AccessDecision(decision.getResponse(), false);
+        }
+        if (isStaleAllowed(decision, now)) {
+            return new AccessDecision(decision.getResponse(), true);
+        }
+        store.evict(playerId, serverName, decision);
+        return null;
+    }
+
+    private boolean isStaleAllowed(final StoredDecision decision, final long now) {
+        return decision.getResponse().getStatus() == AccessStatus.ALLOWED
+                && decision.getExpiresAt() + staleMillis > now;
+    }
+
+    /**
+     * Store a decision. Signup decisions never outlive their authentication URL.
+     */
+    public void put(final PlayerIdentifier playerId, final String serverName, final PlayerAccessResponse response) {
+        long ttl = ttlMillis;
+        if (ttl <= 0) {
+            return;
+        }
+        if (response.getStatus() == AccessStatus.REQUIRES_SIGNUP) {
+            if (!response.hasExpiresIn()) {
+                return;
+            }
+            ttl = Math.min(ttl, response.getExpiresIn() * 1000L);
+        }
+
+        put(playerId, serverName, response, System.currentTimeMillis() + ttl);
+    }
+
+    private void put(final PlayerIdentifier playerId, final String serverName, final PlayerAccessResponse response,
+            final long expiresAt) {
+        final long retainUntil = response.getStatus() == AccessStatus.ALLOWED ? expiresAt + staleMillis : expiresAt;
+        store.put(playerId, serverName, new StoredDecision(response, expiresAt, System.currentTimeMillis()),
+                retainUntil);
+    }
+
+    /**
+     * Drop every decision for a player, e.g. after a player_update event
+     */
+    public void invalidate(final PlayerIdentifier playerId) {
+        store.invalidate(playerId);
+    }
+
+    /**
+     * Drop every player's decision for one server, e.g. after its access was revoked
+     */
+    public void invalidateServer(final String serverName) {
+        store.invalidateServer(serverName);
+    }
+
+    /**
+     * Stop serving every decision stored so far, e.g. after this proxy may have
+     * missed events. A shared store is left as is: other proxies received the
+     * events, and this one ignores the decisions stored before now. Clocks of
+     * proxies sharing a store are assumed to be roughly in sync.
+     */
+    public void invalidateAll() {
+        invalidatedAt = System.currentTimeMillis();
+        if (!store.isShared()) {
+            store.invalidateAll();
+        }
+    }
+
+    /**
+     * Drop every decision from the store, including those shared with other proxies
+     */
+    public void purgeAll() {
+        invalidatedAt = System.currentTimeMillis();
+        store.invalidateAll();
+    }
+
+    /**
+     * Drop decisions that can no longer be served, not even as stale
+     *
+     * @return Number of dropped decisions
+     */
+    public int sweep() {
+        return store.sweep(System.currentTimeMillis());
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Write unexpired decisions to a file. The snapshot is written next to the
+     * target and moved into place so a crash never leaves a truncated file.
+     *
+     * @return Number of decisions written
+     * @throws IOException if the file cannot be written
+     */
+    public int writeSnapshot(final Path file) throws IOException {
+        final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        final long now = System.currentTimeMillis();
+        final List<DecisionSnapshotEntry> entries = new ArrayList<>();
+        store.forEach((playerId, serverName, decision) -> {
+            if (decision.getExpiresAt() > now) {
+                entries.add(DecisionSnapshotEntry.newBuilder()
+                        .setPlayerName(playerId.getUsername())
+                        .setPlayerAddress(ByteString.copyFrom(playerId.getAddressBytes()))
+                        .setServerName(serverName)
+                        .setResponse(decision.getResponse())
+                        .setExpiresAt(decision.getExpiresAt())
+                        .build());
+            }
+        });
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+            for (DecisionSnapshotEntry entry : entries) {
+                entry.writeDelimitedTo(out);
+            }
+        }
+
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return entries.size();
+    }
+
+    /**
+     * Pre-warm the cache from a snapshot file, skipping expired decisions
+     *
+     * @return Number of decisions loaded
+     * @throws IOException if the file cannot be read
+     */
+    public int loadSnapshot(final Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        final long now = System.currentTimeMillis();
+        int loaded = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            DecisionSnapshotEntry entry;
+            while ((entry = DecisionSnapshotEntry.parseDelimitedFrom(in)) != null) {
+                // Never trust a snapshot for longer than the current TTL
+                final long expiresAt = Math.min(entry.getExpiresAt(), now + ttlMillis);
+                if (expiresAt <= now) {
+                    continue;
+                }
+
+                final PlayerIdentifier playerId = entry.getPlayerAddress().isEmpty()
+                        ? new PlayerIdentifier(entry.getPlayerName(), entry.getPlayerIpv4())
+                        : new PlayerIdentifier(entry.getPlayerName(), entry.getPlayerAddress().toByteArray());
+                put(playerId, entry.getServerName(), entry.getResponse(), expiresAt);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.caiostoduto.twig.auth;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.api.AccessChangeListener;
+import com.github.caiostoduto.twig.api.AccessStatus;
+import com.github.caiostoduto.twig.api.TwigAccessService;
+import com.github.caiostoduto.twig.player.ConnectedPlayer;
+import com.github.caiostoduto.twig.player.PlayerRegistry;
+import com.velocitypowered.api.proxy.Player;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+/**
+ * {@link TwigAccessService} backed by the proxy's {@link AccessChecker}, so
+ * other plugins share its cache, in-flight RPCs and event invalidation.
+ */
+public class AccessService implements TwigAccessService, AccessChecker.DecisionListener {
+    private final AccessChecker accessChecker;
+    private final PlayerRegistry players;
+    private final Logger logger;
+    private final List<AccessChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public AccessService(final AccessChecker accessChecker, final PlayerRegistry players, final Logger logger) {
+        this.accessChecker = accessChecker;
+        this.players = players;
+        this.logger = logger;
+        accessChecker.addListener(this);
+    }
+
+    @Override
+    public CompletableFuture<AccessStatus> checkAccess(final Player player, final String serverName) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        if (serverName == null || serverName.isEmpty()) {
+            throw new IllegalArgumentException("Server name cannot be null or empty");
+        }
+        return accessChecker.checkAsync(new PlayerIdentifier(player), serverName)
+                .thenApply(AccessService::toStatus);
+    }
+
+    @Override
+    public CompletableFuture<Map<Player, AccessStatus>> checkAccess(final Collection<? extends Player> players,
+            final String serverName) {
+        if (players == null) {
+            throw new IllegalArgumentException("Players cannot be null");
+        }
+
+        final Map<Player, CompletableFuture<AccessStatus>> checks = new LinkedHashMap<>();
+        for (Player player : players) {
+            checks.put(player, checkAccess(player, serverName));
+        }
+        return collect(checks);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, AccessStatus>> checkAccess(final Player player,
+            final Collection<String> serverNames) {
+        if (serverNames == null) {
+            throw new IllegalArgumentException("Server names cannot be null");
+        }
+
+        final Map<String, CompletableFuture<AccessStatus>> checks = new LinkedHashMap<>();
+        for (String serverName : serverNames) {
+            checks.put(serverName, checkAccess(player, serverName));
+        }
+        return collect(checks);
+    }
+
+    /**
+     * Wait for every check, failing if any of them failed
+     */
+    private static <K> CompletableFuture<Map<K, AccessStatus>> collect(
+            final Map<K, CompletableFuture<AccessStatus>> checks) {
+        return CompletableFuture.allOf(checks.values().toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    final Map<K, AccessStatus> statuses = new LinkedHashMap<>();
+                    checks.forEach((key, check) -> statuses.put(key, check.join()));
+                    return statuses;
+                });
+    }
+
+    @Override
+    public void addChangeListener(final AccessChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeChangeListener(final AccessChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onDecision(final PlayerIdentifier playerId, final String serverName,
+            final PlayerAccessResponse response) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        final ConnectedPlayer connected = players.find(playerId);
+        if (connected != null) {
+            notifyListeners(connected.getPlayer(), serverName, toStatus(response));
+        }
+    }
+
+    @Override
+    public void onInvalidated(final PlayerIdentifier playerId, final String serverName) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        final Collection<ConnectedPlayer> affected;
+        if (playerId != null) {
+            final ConnectedPlayer connected = players.find(playerId);
+            affected = connected != null ? List.of(connected) : List.of();
+        } else {
+            affected = new ArrayList<>(players.getAll());
+        }
+
+        for (ConnectedPlayer connected : affected) {
+            notifyListeners(connected.getPlayer(), serverName, null);
+        }
+    }
+
+    private void notifyListeners(final Player player, final String serverName, final AccessStatus status) {
+        for (AccessChangeListener listener : listeners) {
+            try {
+                listener.onAccessChanged(player, serverName, status);
+            } catch (RuntimeException e) {
+                logger.error("Error in access change listener: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static AccessStatus toStatus(final PlayerAccessResponse response) {
+        switch (response.getStatus()) {
+            case ALLOWED:
+                return AccessStatus.ALLOWED;
+            case REQUIRES_SIGNUP:
+                return AccessStatus.REQUIRES_SIGNUP;
+            default:
+                // Statuses added to the protocol later are denied until this plugin knows them
+                return AccessStatus.PROHIBITED;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.velocitypowered.api.scheduler.ScheduledTask;
 public class AuthenticationEntry {
     private final String url;
     private final String initialServerName;
+    private final long createdAt = System.currentTimeMillis();
     private ScheduledTask task;
 
     public AuthenticationEntry(final String url, final String initialServerName) {
@@ -30,6 +31,10 @@ public class AuthenticationEntry {
         return initialServerName;
     }
 
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
     public ScheduledTask getTask() {
         return task;
     }
@@ -0,0 +1,76 @@
+package com.github.caiostoduto.twig.auth;
+
+/**
+ * Storage behind the {@link AccessDecisionCache}. The cache applies the TTL
+ * and stale window policy; stores only keep decisions keyed by player and
+ * server. Implementations must be thread-safe, and a shared store reports
+ * failures as misses instead of failing the join.
+ */
+public interface DecisionStore {
+    /**
+     * @return The stored decision, possibly expired, or null if absent
+     */
+    StoredDecision get(PlayerIdentifier playerId, String serverName);
+
+    /**
+     * Store a decision
+     *
+     * @param retainUntil Unix timestamp in milliseconds after which the store
+     *                    may drop the decision, at or after its expiry
+     */
+    void put(PlayerIdentifier playerId, String serverName, StoredDecision decision, long retainUntil);
+
+    /**
+     * Drop a decision found expired, unless it was replaced meanwhile
+     */
+    void evict(PlayerIdentifier playerId, String serverName, StoredDecision decision);
+
+    /**
+     * Drop decisions whose retention time has passed. Stores that expire
+     * entries themselves keep the default, which does nothing.
+     *
+     * @param now Unix timestamp in milliseconds
+     * @return Number of dropped decisions
+     */
+    default int sweep(final long now) {
+        return 0;
+    }
+
+    /**
+     * Drop every decision for a player
+     */
+    void invalidate(PlayerIdentifier playerId);
+
+    /**
+     * Drop every player's decision for one server
+     */
+    void invalidateServer(String serverName);
+
+    /**
+     * Drop every decision, for every proxy sharing the store
+     */
+    void invalidateAll();
+
+    /**
+     * @return Number of stored decisions, or -1 if the store cannot tell cheaply
+     */
+    int size();
+
+    /**
+     * Whether other proxies read and write the same decisions. Shared stores
+     * are not written to or loaded from the local snapshot.
+     */
+    boolean isShared();
+
+    /**
+     * Visit every stored decision, used to write the local snapshot
+     */
+    void forEach(Visitor visitor);
+
+    void close();
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(PlayerIdentifier playerId, String serverName, StoredDecision decision);
+    }
+}
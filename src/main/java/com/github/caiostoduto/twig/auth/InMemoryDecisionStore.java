@@ -0,0 +1,105 @@
+package com.github.caiostoduto.twig.auth;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default {@link DecisionStore}, local to this proxy. Expired decisions are
+ * evicted when they are next read, or by {@link #sweep(long)} once their
+ * retention time has passed.
+ */
+public class InMemoryDecisionStore implements DecisionStore {
+    private final Map<PlayerIdentifier, Map<String, Retained>> decisions = new ConcurrentHashMap<>();
+
+    @Override
+    public StoredDecision get(final PlayerIdentifier playerId, final String serverName) {
+        final Map<String, Retained> servers = decisions.get(playerId);
+        final Retained retained = servers != null ? servers.get(serverName) : null;
+        return retained != null ? retained.decision : null;
+    }
+
+    @Override
+    public void put(final PlayerIdentifier playerId, final String serverName, final StoredDecision decision,
+            final long retainUntil) {
+        decisions.computeIfAbsent(playerId, key -> new ConcurrentHashMap<>())
+                .put(serverName, new Retained(decision, retainUntil));
+    }
+
+    @Override
+    public void evict(final PlayerIdentifier playerId, final String serverName, final StoredDecision decision) {
+        decisions.computeIfPresent(playerId, (key, servers) -> {
+            servers.computeIfPresent(serverName, (name, retained) -> retained.decision == decision ? null : retained);
+            return servers.isEmpty() ? null : servers;
+        });
+    }
+
+    @Override
+    public int sweep(final long now) {
+        int swept = 0;
+        for (PlayerIdentifier playerId : decisions.keySet()) {
+            final int[] removed = new int[1];
+            decisions.computeIfPresent(playerId, (key, servers) -> {
+                final int before = servers.size();
+                servers.values().removeIf(retained -> retained.retainUntil <= now);
+                removed[0] = before - servers.size();
+                return servers.isEmpty() ? null : servers;
+            });
+            swept += removed[0];
+        }
+        return swept;
+    }
+
+    @Override
+    public void invalidate(final PlayerIdentifier playerId) {
+        decisions.remove(playerId);
+    }
+
+    @Override
+    public void invalidateServer(final String serverName) {
+        for (PlayerIdentifier playerId : decisions.keySet()) {
+            decisions.computeIfPresent(playerId, (key, servers) -> {
+                servers.remove(serverName);
+                return servers.isEmpty() ? null : servers;
+            });
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        decisions.clear();
+    }
+
+    @Override
+    public int size() {
+        return decisions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public void forEach(final Visitor visitor) {
+        for (Map.Entry<PlayerIdentifier, Map<String, Retained>> player : decisions.entrySet()) {
+            for (Map.Entry<String, Retained> server : player.getValue().entrySet()) {
+                visitor.visit(player.getKey(), server.getKey(), server.getValue().decision);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        decisions.clear();
+    }
+
+    private static final class Retained {
+        private final StoredDecision decision;
+        private final long retainUntil;
+
+        private Retained(final StoredDecision decision, final long retainUntil) {
+            this.decision = decision;
+            this.retainUntil = retainUntil;
+        }
+    }
+}
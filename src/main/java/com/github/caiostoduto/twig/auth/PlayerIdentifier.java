@@ -1,32 +1,247 @@
 package com.github.caiostoduto.twig.auth;
 
-import java.util.Objects;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+
 import com.velocitypowered.api.proxy.Player;
 
 /**
  * Composite key for identifying players using both username and IP address.
  * This ensures proper player identification even when multiple accounts
  * connect from different IP addresses.
+ * <p>
+ * The address is kept as raw bytes (4 for IPv4, 16 for IPv6) and the hash is
+ * computed once, so identifiers are cheap to compare and to use as map keys.
  */
-public class PlayerIdentifier {
+public final class PlayerIdentifier {
     private final String username;
-    private final String ipAddress;
+    private final byte[] address;
+    private final int hash;
+    private String ipAddress;
 
     public PlayerIdentifier(final Player player) {
+        this(requirePlayer(player).getUsername(), player.getRemoteAddress().getAddress());
+    }
+
+    public PlayerIdentifier(final String username, final InetAddress address) {
+        this(username, address == null ? null : address.getAddress());
+    }
+
+    /**
+     * @param username The player's username
+     * @param address  Raw address bytes, 4 for IPv4 or 16 for IPv6
+     */
+    public PlayerIdentifier(final String username, final byte[] address) {
+        if (username == null || address == null) {
+            throw new IllegalArgumentException("Username and IP address cannot be null");
+        }
+        if (address.length != 4 && address.length != 16) {
+            throw new IllegalArgumentException("IP address must be 4 or 16 bytes long");
+        }
+        this.username = username;
+        this.address = address.clone();
+        this.hash = 31 * username.hashCode() + Arrays.hashCode(this.address);
+    }
+
+    /**
+     * @param username  The player's username
+     * @param ipAddress Textual IPv4 or IPv6 address literal
+     */
+    public PlayerIdentifier(final String username, final String ipAddress) {
+        this(username, parseLiteral(ipAddress));
+    }
+
+    private static Player requirePlayer(final Player player) {
         if (player == null) {
             throw new IllegalArgumentException("Player cannot be null");
         }
-        this.username = player.getUsername();
-        // Use getHostAddress() to get the IP without the leading slash
-        this.ipAddress = player.getRemoteAddress().getAddress().getHostAddress();
+        return player;
+    }
+
+    /**
+     * Parse an IP literal without ever falling back to a DNS lookup. Host names,
+     * even ones made only of hex letters like {@code cafe.babe}, are rejected
+     */
+    private static byte[] parseLiteral(final String ipAddress) {
+        if (ipAddress == null || ipAddress.isEmpty()) {
+            throw new IllegalArgumentException("IP address cannot be null or empty");
+        }
+
+        String literal = ipAddress;
+        if (literal.length() > 2 && literal.charAt(0) == '[' && literal.charAt(literal.length() - 1) == ']') {
+            literal = literal.substring(1, literal.length() - 1);
+        }
+
+        final byte[] address = literal.indexOf(':') < 0 ? parseIpv4(literal) : parseIpv6(literal);
+        if (address == null) {
+            throw new IllegalArgumentException("Invalid IP address: " + ipAddress);
+        }
+        return address;
+    }
+
+    /**
+     * Parse a dotted-quad IPv4 literal
+     *
+     * @return The 4 address bytes, or null if malformed
+     */
+    private static byte[] parseIpv4(final String literal) {
+        final byte[] address = new byte[4];
+        return parseIpv4(literal, address, 0) ? address : null;
+    }
+
+    private static boolean parseIpv4(final String literal, final byte[] address, final int offset) {
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i <= literal.length(); i++) {
+            if (i == literal.length() || literal.charAt(i) == '.') {
+                if (digits == 0 || octets == 4) {
+                    return false;
+                }
+                address[offset + octets++] = (byte) value;
+                value = 0;
+                digits = 0;
+                continue;
+            }
+
+            final char c = literal.charAt(i);
+            if (c < '0' || c > '9' || ++digits > 3) {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+            if (value > 255) {
+                return false;
+            }
+        }
+        return octets == 4;
+    }
+
+    /**
+     * Parse an IPv6 literal, with optional {@code ::} compression and embedded
+     * IPv4 tail. IPv4-mapped addresses are returned as 4 bytes, matching
+     * {@link InetAddress}
+     *
+     * @return The 16 (or 4) address bytes, or null if malformed
+     */
+    private static byte[] parseIpv6(final String literal) {
+        final byte[] address = new byte[16];
+        final int length = literal.length();
+        int groups = 0;
+        // Group index the "::" stands at, -1 if absent
+        int compressed = -1;
+        int i = 0;
+
+        if (literal.startsWith("::")) {
+            compressed = 0;
+            i = 2;
+        } else if (literal.startsWith(":")) {
+            return null;
+        }
+
+        while (i < length) {
+            if (groups == 8) {
+                return null;
+            }
+
+            int end = i;
+            int value = 0;
+            while (end < length && end - i < 4 && Character.digit(literal.charAt(end), 16) >= 0) {
+                value = (value << 4) | Character.digit(literal.charAt(end), 16);
+                end++;
+            }
+
+            if (end < length && literal.charAt(end) == '.') {
+                // Embedded IPv4 tail, fills the last two groups
+                if (groups > 6 || !parseIpv4(literal.substring(i), address, groups * 2)) {
+                    return null;
+                }
+                groups += 2;
+                break;
+            }
+            if (end == i) {
+                return null;
+            }
+            address[groups * 2] = (byte) (value >> 8);
+            address[groups * 2 + 1] = (byte) value;
+            groups++;
+
+            if (end == length) {
+                break;
+            }
+            if (literal.charAt(end) != ':') {
+                return null;
+            }
+            end++;
+            if (end < length && literal.charAt(end) == ':') {
+                if (compressed >= 0) {
+                    return null;
+                }
+                compressed = groups;
+                end++;
+            } else if (end == length) {
+                return null;
+            }
+            i = end;
+        }
+
+        if (compressed >= 0) {
+            // "::" stands for at least one zero group
+            if (groups == 8) {
+                return null;
+            }
+            final int tail = (groups - compressed) * 2;
+            System.arraycopy(address, compressed * 2, address, 16 - tail, tail);
+            Arrays.fill(address, compressed * 2, 16 - tail, (byte) 0);
+        } else if (groups != 8) {
+            return null;
+        }
+
+        if (isIpv4Mapped(address)) {
+            return Arrays.copyOfRange(address, 12, 16);
+        }
+        return address;
+    }
+
+    private static boolean isIpv4Mapped(final byte[] address) {
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0) {
+                return false;
+            }
+        }
+        return address[10] == (byte) 0xff && address[11] == (byte) 0xff;
     }
 
     public String getUsername() {
         return username;
     }
 
+    /**
+     * Raw address bytes. The returned array is shared and must not be modified.
+     */
+    public byte[] getAddressBytes() {
+        return address;
+    }
+
+    public boolean isIpv6() {
+        return address.length == 16;
+    }
+
+    /**
+     * Textual IP address, formatted on first use
+     */
     public String getIpAddress() {
-        return ipAddress;
+        String formatted = ipAddress;
+        if (formatted == null) {
+            try {
+                formatted = InetAddress.getByAddress(address).getHostAddress();
+            } catch (UnknownHostException e) {
+                // Unreachable, the length is validated in the constructor
+                throw new IllegalStateException(e);
+            }
+            ipAddress = formatted;
+        }
+        return formatted;
     }
 
     @Override
@@ -39,16 +254,16 @@ public class PlayerIdentifier {
         }
 
         final PlayerIdentifier that = (PlayerIdentifier) o;
-        return Objects.equals(username, that.username) && Objects.equals(ipAddress, that.ipAddress);
+        return hash == that.hash && username.equals(that.username) && Arrays.equals(address, that.address);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(username, ipAddress);
+        return hash;
     }
 
     @Override
     public String toString() {
-        return username + " (" + ipAddress + ")";
+        return username + " (" + getIpAddress() + ")";
     }
 }
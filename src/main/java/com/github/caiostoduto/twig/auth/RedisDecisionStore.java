@@ -0,0 +1,197 @@
+package com.github.caiostoduto.twig.auth;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.DecisionSnapshotEntry;
+
+/**
+ * {@link DecisionStore} shared by every proxy pointing at the same
+ * Redis-protocol server, so a decision fetched by one proxy serves the others.
+ * Each player's decisions live in one hash keyed by server name, which expires
+ * on its own once none of its decisions can be served anymore. Any failure is
+ * treated as a miss, and the store is skipped for a few seconds after one, so
+ * an unavailable store never makes joins wait on connection timeouts.
+ */
+public class RedisDecisionStore implements DecisionStore {
+    private static final String KEY_PREFIX = "twig:decisions:";
+    private static final String SCAN_BATCH = "500";
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    private final RespClient client;
+    private final Logger logger;
+    private volatile boolean available = true;
+    private volatile long retryAt = 0;
+
+    public RedisDecisionStore(final String host, final int port, final String password, final int timeoutMillis,
+            final Logger logger) {
+        this.client = new RespClient(host, port, password, timeoutMillis);
+        this.logger = logger;
+    }
+
+    @Override
+    public StoredDecision get(final PlayerIdentifier playerId, final String serverName) {
+        if (isBackingOff()) {
+            return null;
+        }
+        try {
+            final Object reply = client.call("HGET", key(playerId), serverName);
+            markAvailable();
+            if (!(reply instanceof byte[])) {
+                return null;
+            }
+
+            final DecisionSnapshotEntry entry = DecisionSnapshotEntry.parseFrom((byte[]) reply);
+            return new StoredDecision(entry.getResponse(), entry.getExpiresAt(), entry.getStoredAt());
+        } catch (InvalidProtocolBufferException e) {
+            logger.warn("Ignoring malformed shared decision for {} on `{}`", playerId, serverName);
+            return null;
+        } catch (IOException e) {
+            markUnavailable(e);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(final PlayerIdentifier playerId, final String serverName, final StoredDecision decision,
+            final long retainUntil) {
+        final long retainMillis = retainUntil - System.currentTimeMillis();
+        if (retainMillis <= 0 || isBackingOff()) {
+            return;
+        }
+
+        final byte[] value = DecisionSnapshotEntry.newBuilder()
+                .setResponse(decision.getResponse())
+                .setExpiresAt(decision.getExpiresAt())
+                .setStoredAt(decision.getStoredAt())
+                .build()
+                .toByteArray();
+        final String key = key(playerId);
+        try {
+            client.call("HSET", key, serverName, value);
+            // The hash expires as a whole, only extend it so a short-lived decision never cuts
+            // the retention of another server's ALLOWED decision. Concurrent writers may still
+            // shorten it to the smaller of their retentions, which only costs a cache miss
+            final Object ttl = client.call("PTTL", key);
+            if (!(ttl instanceof Long) || (Long) ttl < retainMillis) {
+                client.call("PEXPIRE", key, Long.toString(retainMillis));
+            }
+            markAvailable();
+        } catch (IOException e) {
+            markUnavailable(e);
+        }
+    }
+
+    @Override
+    public void evict(final PlayerIdentifier playerId, final String serverName, final StoredDecision decision) {
+        // Expired decisions are skipped on read and dropped with their hash
+    }
+
+    @Override
+    public void invalidate(final PlayerIdentifier playerId) {
+        if (isBackingOff()) {
+            return;
+        }
+        try {
+            client.call("DEL", key(playerId));
+            markAvailable();
+        } catch (IOException e) {
+            markUnavailable(e);
+        }
+    }
+
+    @Override
+    public void invalidateServer(final String serverName) {
+        if (isBackingOff()) {
+            return;
+        }
+        try {
+            scan(key -> client.call("HDEL", key, serverName));
+            markAvailable();
+        } catch (IOException e) {
+            markUnavailable(e);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        if (isBackingOff()) {
+            return;
+        }
+        try {
+            scan(key -> client.call("DEL", key));
+            markAvailable();
+        } catch (IOException e) {
+            markUnavailable(e);
+        }
+    }
+
+    @Override
+    public int size() {
+        return -1;
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public void forEach(final Visitor visitor) {
+        // The shared store is never written to the local snapshot
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private static String key(final PlayerIdentifier playerId) {
+        return KEY_PREFIX + playerId.getIpAddress() + "/" + playerId.getUsername();
+    }
+
+    /**
+     * Apply an action to every decision hash, without blocking the server like KEYS would
+     */
+    private void scan(final KeyAction action) throws IOException {
+        String cursor = "0";
+        do {
+            final List<?> reply = (List<?>) client.call("SCAN", cursor, "MATCH", KEY_PREFIX + "*",
+                    "COUNT", SCAN_BATCH);
+            cursor = new String((byte[]) reply.get(0), StandardCharsets.US_ASCII);
+            for (Object key : (List<?>) reply.get(1)) {
+                action.apply((byte[]) key);
+            }
+        } while (!cursor.equals("0"));
+    }
+
+    private boolean isBackingOff() {
+        return !available && System.currentTimeMillis() < retryAt;
+    }
+
+    private void markAvailable() {
+        if (!available) {
+            available = true;
+            logger.info("Shared decision store is available again");
+        }
+    }
+
+    private void markUnavailable(final IOException e) {
+        retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+        // Only the first failure is logged, every join would repeat it
+        if (available) {
+            available = false;
+            logger.warn("Shared decision store is unavailable, checking access without it: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface KeyAction {
+        void apply(byte[] key) throws IOException;
+    }
+}
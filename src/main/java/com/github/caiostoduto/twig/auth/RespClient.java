@@ -0,0 +1,215 @@
+package com.github.caiostoduto.twig.auth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal blocking client for the Redis serialization protocol (RESP2), enough
+ * for the handful of commands the shared decision store sends. Commands run on
+ * a small pool of connections, opened lazily and dropped after a failure, so
+ * concurrent logins don't queue behind one socket.
+ */
+final class RespClient {
+    private static final byte[] CRLF = { '\r', '\n' };
+    // Commands take well under a millisecond, a few connections cover a login storm
+    private static final int MAX_CONNECTIONS = 4;
+
+    private final String host;
+    private final int port;
+    private final String password;
+    private final int timeoutMillis;
+    // Fair, so a waiting login is not starved past the timeout by later ones
+    private final Semaphore permits = new Semaphore(MAX_CONNECTIONS, true);
+    private final Deque<Connection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    RespClient(final String host, final int port, final String password, final int timeoutMillis) {
+        if (host == null || host.trim().isEmpty()) {
+            throw new IllegalArgumentException("Host cannot be null or empty");
+        }
+        if (port <= 0 || port > 65535) {
+            throw new IllegalArgumentException("Port must be between 1 and 65535");
+        }
+        this.host = host;
+        this.port = port;
+        this.password = password;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Send a command and read its reply
+     *
+     * @return A String for simple replies, a Long for integers, a byte[] for
+     *         bulk strings, a List for arrays, or null for nil replies
+     * @throws IOException if the connection fails, none frees up within the
+     *                     timeout, or the server replies with an error
+     */
+    Object call(final Object... args) throws IOException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection");
+        }
+
+        Connection connection = null;
+        try {
+            connection = idle.pollFirst();
+            if (connection == null) {
+                connection = new Connection();
+            }
+            final Object reply = connection.call(args);
+            release(connection);
+            return reply;
+        } catch (IOException e) {
+            // Server errors leave the connection usable, but they are rare enough to just reconnect
+            if (connection != null) {
+                connection.close();
+            }
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    private void release(final Connection connection) {
+        idle.offerFirst(connection);
+        // Lost the race with close()
+        if (closed && idle.remove(connection)) {
+            connection.close();
+        }
+    }
+
+    /**
+     * One socket, used by a single caller at a time
+     */
+    private final class Connection {
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        private Connection() throws IOException {
+            socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(timeoutMillis);
+                socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+                in = new BufferedInputStream(socket.getInputStream());
+                out = new BufferedOutputStream(socket.getOutputStream());
+
+                if (password != null && !password.isEmpty()) {
+                    call(new Object[] { "AUTH", password });
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        private Object call(final Object[] args) throws IOException {
+            write(args);
+            return read();
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already broken
+            }
+        }
+
+        private void write(final Object[] args) throws IOException {
+            out.write('*');
+            out.write(Integer.toString(args.length).getBytes(StandardCharsets.US_ASCII));
+            out.write(CRLF);
+            for (Object arg : args) {
+                final byte[] bytes = arg instanceof byte[]
+                        ? (byte[]) arg
+                        : arg.toString().getBytes(StandardCharsets.UTF_8);
+                out.write('$');
+                out.write(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+                out.write(CRLF);
+                out.write(bytes);
+                out.write(CRLF);
+            }
+            out.flush();
+        }
+
+        private Object read() throws IOException {
+            final int type = in.read();
+            switch (type) {
+                case '+':
+                    return readLine();
+                case '-':
+                    throw new IOException("Server error: " + readLine());
+                case ':':
+                    return Long.parseLong(readLine());
+                case '$': {
+                    final int length = Integer.parseInt(readLine());
+                    if (length < 0) {
+                        return null;
+                    }
+                    final byte[] bytes = in.readNBytes(length);
+                    if (bytes.length < length || in.read() != '\r' || in.read() != '\n') {
+                        throw new IOException("Truncated bulk reply");
+                    }
+                    return bytes;
+                }
+                case '*': {
+                    final int count = Integer.parseInt(readLine());
+                    if (count < 0) {
+                        return null;
+                    }
+                    final List<Object> items = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        items.add(read());
+                    }
+                    return items;
+                }
+                case -1:
+                    throw new IOException("Connection closed by server");
+                default:
+                    throw new IOException("Unexpected reply type: " + (char) type);
+            }
+        }
+
+        private String readLine() throws IOException {
+            final StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != '\r') {
+                if (b == -1) {
+                    throw new IOException("Connection closed by server");
+                }
+                line.append((char) b);
+            }
+            if (in.read() != '\n') {
+                throw new IOException("Malformed reply line");
+            }
+            return line.toString();
+        }
+    }
+}
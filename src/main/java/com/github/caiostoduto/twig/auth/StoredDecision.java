@@ -0,0 +1,41 @@
+package com.github.caiostoduto.twig.auth;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+/**
+ * An access decision held by a {@link DecisionStore}, with its expiry time and
+ * the time it was stored at.
+ */
+public final class StoredDecision {
+    private final PlayerAccessResponse response;
+    private final long expiresAt;
+    private final long storedAt;
+
+    public StoredDecision(final PlayerAccessResponse response, final long expiresAt, final long storedAt) {
+        if (response == null) {
+            throw new IllegalArgumentException("Response cannot be null");
+        }
+        this.response = response;
+        this.expiresAt = expiresAt;
+        this.storedAt = storedAt;
+    }
+
+    public PlayerAccessResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Unix timestamp in milliseconds after which the decision is expired
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Unix timestamp in milliseconds at which the decision was stored, by
+     * whichever proxy fetched it
+     */
+    public long getStoredAt() {
+        return storedAt;
+    }
+}
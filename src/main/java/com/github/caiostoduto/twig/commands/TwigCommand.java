@@ -0,0 +1,270 @@
+package com.github.caiostoduto.twig.commands;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.Twig;
+import com.github.caiostoduto.twig.auth.AccessChecker;
+import com.github.caiostoduto.twig.auth.AuthenticationEntry;
+import com.github.caiostoduto.twig.diag.InFlightCalls;
+import com.github.caiostoduto.twig.diag.JoinTiming;
+import com.github.caiostoduto.twig.diag.RingBuffer;
+import com.github.caiostoduto.twig.grpc.EventReplayer;
+import com.github.caiostoduto.twig.grpc.EventReplayer.ReplayReport;
+import com.github.caiostoduto.twig.grpc.MinecraftBridgeClient;
+import com.github.caiostoduto.twig.listeners.PlayerUpdateEventHandler;
+import com.github.caiostoduto.twig.player.ConnectedPlayer;
+import com.github.caiostoduto.twig.player.LimboMembership;
+import com.github.caiostoduto.twig.player.PlayerRegistry;
+import com.github.caiostoduto.twig.player.ReleaseScheduler;
+import com.velocitypowered.api.command.CommandSource;
+import com.velocitypowered.api.command.SimpleCommand;
+import com.velocitypowered.api.proxy.ProxyServer;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.ServerEvent;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+/**
+ * Administrative {@code /twig} command.
+ */
+public class TwigCommand implements SimpleCommand {
+    private static final String PERMISSION = "twig.admin";
+    private static final int DEFAULT_DIAG_JOINS = 5;
+    private static final String LIVE_FLAG = "live";
+
+    private final Twig plugin;
+    private final Logger logger;
+    private final ProxyServer proxyServer;
+    private final Path dataDirectory;
+    private final EventReplayer eventReplayer;
+    private final PlayerUpdateEventHandler playerUpdateHandler;
+    private final LimboMembership limbo;
+    private final MinecraftBridgeClient grpcClient;
+    private final RingBuffer<JoinTiming> joinTimings;
+    private final PlayerRegistry players;
+    private final ReleaseScheduler releaseScheduler;
+    private final AccessChecker accessChecker;
+
+    public TwigCommand(final Twig plugin, final Logger logger, final ProxyServer proxyServer,
+            final Path dataDirectory, final EventReplayer eventReplayer,
+            final PlayerUpdateEventHandler playerUpdateHandler, final LimboMembership limbo,
+            final MinecraftBridgeClient grpcClient, final RingBuffer<JoinTiming> joinTimings,
+            final PlayerRegistry players, final ReleaseScheduler releaseScheduler,
+            final AccessChecker accessChecker) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.proxyServer = proxyServer;
+        this.dataDirectory = dataDirectory;
+        this.eventReplayer = eventReplayer;
+        this.playerUpdateHandler = playerUpdateHandler;
+        this.limbo = limbo;
+        this.grpcClient = grpcClient;
+        this.joinTimings = joinTimings;
+        this.players = players;
+        this.releaseScheduler = releaseScheduler;
+        this.accessChecker = accessChecker;
+    }
+
+    @Override
+    public void execute(final Invocation invocation) {
+        final CommandSource source = invocation.source();
+        final String[] args = invocation.arguments();
+
+        if (args.length >= 2 && args[0].equalsIgnoreCase("replay")) {
+            replay(source, args);
+            return;
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("verify")) {
+            verify(source, args[1]);
+            return;
+        }
+        if (args.length == 1 && args[0].equalsIgnoreCase("limbo")) {
+            limboOccupancy(source);
+            return;
+        }
+        if ((args.length == 1 || args.length == 2) && args[0].equalsIgnoreCase("diag")) {
+            diag(source, args);
+            return;
+        }
+        if (args.length == 1 && args[0].equalsIgnoreCase("purge")) {
+            purge(source);
+            return;
+        }
+
+        source.sendMessage(Component.text("Usage: /twig replay <file> [speed] [live] | /twig verify <server> | /twig limbo"
+                + " | /twig diag [joins] | /twig purge", NamedTextColor.RED));
+    }
+
+    @Override
+    public boolean hasPermission(final Invocation invocation) {
+        return invocation.source().hasPermission(PERMISSION);
+    }
+
+    @Override
+    public List<String> suggest(final Invocation invocation) {
+        return invocation.arguments().length <= 1 ? List.of("replay", "verify", "limbo", "diag", "purge") : List.of();
+    }
+
+    /**
+     * Replays a recorded event file. Without the {@code live} flag the events are
+     * only read and paced; with it they go through the player update handler and
+     * act on online players. Runs asynchronously since the replay is paced and
+     * issues blocking RPCs.
+     */
+    private void replay(final CommandSource source, final String[] args) {
+        // Only recordings inside the plugin folder can be replayed
+        final Path baseDirectory = dataDirectory.toAbsolutePath().normalize();
+        final Path file = baseDirectory.resolve(args[1]).normalize();
+        if (!file.startsWith(baseDirectory)) {
+            source.sendMessage(Component.text("Recordings must be inside the plugin folder", NamedTextColor.RED));
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            source.sendMessage(Component.text("Recording not found: " + file, NamedTextColor.RED));
+            return;
+        }
+
+        final boolean live = args[args.length - 1].equalsIgnoreCase(LIVE_FLAG);
+        final int speedArgs = live ? args.length - 1 : args.length;
+        if (speedArgs > 3) {
+            source.sendMessage(Component.text("Usage: /twig replay <file> [speed] [live]", NamedTextColor.RED));
+            return;
+        }
+
+        final double speed;
+        try {
+            speed = speedArgs == 3 ? Double.parseDouble(args[2]) : 1.0;
+        } catch (NumberFormatException e) {
+            source.sendMessage(Component.text("Invalid speed: " + args[2], NamedTextColor.RED));
+            return;
+        }
+
+        if (live) {
+            source.sendMessage(Component.text("Replaying " + file.getFileName() + " at " + speed
+                    + "x against online players...", NamedTextColor.GOLD));
+        } else {
+            source.sendMessage(Component.text("Dry run of " + file.getFileName() + " at " + speed
+                    + "x, add `" + LIVE_FLAG + "` to apply the events to online players...", NamedTextColor.GRAY));
+        }
+        final Consumer<ServerEvent> handler = live ? playerUpdateHandler::handleEvent : event -> {
+        };
+
+        proxyServer.getScheduler().buildTask(plugin, () -> {
+            try {
+                final ReplayReport report = eventReplayer.replay(file, speed, handler);
+                logger.info("Replay of {} finished: {}", file, report);
+                source.sendMessage(Component.text("Replay finished: " + report, NamedTextColor.GREEN));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Replay of {} interrupted", file);
+            } catch (Exception e) {
+                logger.error("Replay of {} failed: {}", file, e.getMessage(), e);
+                source.sendMessage(Component.text("Replay failed: " + e.getMessage(), NamedTextColor.RED));
+            }
+        }).schedule();
+    }
+
+    /**
+     * Re-checks the access of every player on a server.
+     * Runs asynchronously since each check is a blocking RPC.
+     */
+    private void verify(final CommandSource source, final String serverName) {
+        if (proxyServer.getServer(serverName).isEmpty()) {
+            source.sendMessage(Component.text("Unknown server: " + serverName, NamedTextColor.RED));
+            return;
+        }
+
+        proxyServer.getScheduler().buildTask(plugin, () -> {
+            final int checked = playerUpdateHandler.checkPlayersOnServer(serverName);
+            source.sendMessage(Component.text("Verified " + checked + " player(s) on `" + serverName + "`",
+                    NamedTextColor.GREEN));
+        }).schedule();
+    }
+
+    /**
+     * Drops every cached decision, including those shared with other proxies.
+     * Runs asynchronously since a shared store is scanned.
+     */
+    private void purge(final CommandSource source) {
+        proxyServer.getScheduler().buildTask(plugin, () -> {
+            accessChecker.purgeAll();
+            logger.info("Cached access decisions purged");
+            source.sendMessage(Component.text("Purged every cached access decision", NamedTextColor.GREEN));
+        }).schedule();
+    }
+
+    /**
+     * Shows how many players are on, or on their way to, each limbo server.
+     */
+    private void limboOccupancy(final CommandSource source) {
+        final Map<String, Integer> occupancy = limbo.getOccupancy();
+        if (occupancy.isEmpty()) {
+            source.sendMessage(Component.text("No limbo server is registered", NamedTextColor.RED));
+            return;
+        }
+
+        occupancy.forEach((serverName, count) -> source.sendMessage(
+                Component.text(serverName + ": " + count + " player(s)", NamedTextColor.GRAY)));
+    }
+
+    /**
+     * Shows what the plugin is doing right now: in-flight access checks, the
+     * slowest recent joins, pending authentications and the event stream.
+     */
+    private void diag(final CommandSource source, final String[] args) {
+        final int joinCount;
+        try {
+            joinCount = args.length == 2 ? Integer.parseInt(args[1]) : DEFAULT_DIAG_JOINS;
+        } catch (NumberFormatException e) {
+            source.sendMessage(Component.text("Invalid number of joins: " + args[1], NamedTextColor.RED));
+            return;
+        }
+
+        final List<InFlightCalls.Call> inFlight = grpcClient.getInFlightChecks();
+        inFlight.sort(Comparator.comparingLong(InFlightCalls.Call::getAgeNanos).reversed());
+        source.sendMessage(Component.text("In-flight access checks: " + inFlight.size(), NamedTextColor.GOLD));
+        for (InFlightCalls.Call call : inFlight) {
+            source.sendMessage(Component.text("  " + call.getPlayerId() + " -> " + call.getServerName() + " "
+                    + TimeUnit.NANOSECONDS.toMillis(call.getAgeNanos()) + " ms", NamedTextColor.GRAY));
+        }
+
+        final List<JoinTiming> joins = joinTimings.snapshot();
+        joins.sort(Comparator.comparingLong(JoinTiming::getTotalNanos).reversed());
+        source.sendMessage(Component.text("Slowest of the last " + joins.size() + " join(s) ("
+                + joinTimings.getTotal() + " since startup):", NamedTextColor.GOLD));
+        for (JoinTiming join : joins.subList(0, Math.min(Math.max(joinCount, 0), joins.size()))) {
+            source.sendMessage(Component.text("  " + join, NamedTextColor.GRAY));
+        }
+
+        final long now = System.currentTimeMillis();
+        int pendingAuth = 0;
+        long oldestAuth = now;
+        for (ConnectedPlayer connected : players.getAll()) {
+            final AuthenticationEntry authEntry = connected.getAuthEntry();
+            if (authEntry != null) {
+                pendingAuth++;
+                oldestAuth = Math.min(oldestAuth, authEntry.getCreatedAt());
+            }
+        }
+        source.sendMessage(Component.text("Pending authentications: " + pendingAuth
+                + (pendingAuth > 0 ? ", oldest " + (now - oldestAuth) / 1000 + " s" : "")
+                + "; limbo release queue: " + releaseScheduler.size(), NamedTextColor.GOLD));
+
+        final long lastEventAt = grpcClient.getLastEventAt();
+        source.sendMessage(Component.text("Event stream: " + grpcClient.getEventStreamState()
+                + ", " + grpcClient.getReconnectCount() + " reconnect(s)"
+                + (grpcClient.getReconnectCount() > 0
+                        ? ", last took " + grpcClient.getLastReconnectLagMillis() + " ms" : "")
+                + ", last event " + (lastEventAt > 0 ? (now - lastEventAt) / 1000 + " s ago" : "never"),
+                NamedTextColor.GOLD));
+    }
+}
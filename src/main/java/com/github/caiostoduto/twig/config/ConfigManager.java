@@ -1,5 +1,6 @@
 package com.github.caiostoduto.twig.config;
 
+import org.slf4j.Logger;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 import java.io.*;
@@ -7,16 +8,27 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class ConfigManager {
     private final Path configFile;
-    private Map<String, Object> config;
+    private final Logger logger;
+    private volatile Map<String, Object> config;
+    private volatile TwigConfig snapshot;
+    private volatile TwigConfig startupSnapshot;
     private final Yaml yaml;
+    private final List<Consumer<TwigConfig>> reloadListeners = new CopyOnWriteArrayList<>();
 
-    public ConfigManager(Path dataDirectory) {
+    /**
+     * @param logger Reports reload listeners that fail
+     */
+    public ConfigManager(Path dataDirectory, final Logger logger) {
         this.configFile = dataDirectory.resolve("config.yml");
+        this.logger = logger;
 
         DumperOptions options = new DumperOptions();
         options.setIndent(2);
@@ -29,13 +41,80 @@ public class ConfigManager {
         if (!Files.exists(configFile)) {
             createDefaultConfig();
         } else {
-            try (InputStream in = Files.newInputStream(configFile)) {
-                final Map<String, Object> loadedConfig = yaml.load(in);
-                config = loadedConfig != null ? loadedConfig : new LinkedHashMap<>();
-            } catch (Exception e) {
-                throw new IOException("Failed to load configuration from " + configFile, e);
+            config = read();
+        }
+        snapshot = TwigConfig.from(config);
+        startupSnapshot = snapshot;
+    }
+
+    /**
+     * Re-reads config.yml and atomically publishes a new snapshot.
+     * The previous snapshot stays in place if the file cannot be parsed.
+     * A failing reload listener is logged and doesn't stop the others.
+     *
+     * @return The newly published snapshot
+     * @throws IOException if the configuration cannot be read
+     */
+    public TwigConfig reload() throws IOException {
+        final Map<String, Object> loadedConfig = read();
+        final TwigConfig loadedSnapshot = TwigConfig.from(loadedConfig);
+
+        config = loadedConfig;
+        snapshot = loadedSnapshot;
+
+        for (Consumer<TwigConfig> listener : reloadListeners) {
+            try {
+                listener.accept(loadedSnapshot);
+            } catch (RuntimeException e) {
+                logger.error("Error in config reload listener: {}", e.getMessage(), e);
             }
         }
+        return loadedSnapshot;
+    }
+
+    private Map<String, Object> read() throws IOException {
+        try (InputStream in = Files.newInputStream(configFile)) {
+            final Map<String, Object> loadedConfig = yaml.load(in);
+            return loadedConfig != null ? loadedConfig : new LinkedHashMap<>();
+        } catch (Exception e) {
+            throw new IOException("Failed to load configuration from " + configFile, e);
+        }
+    }
+
+    /**
+     * Returns the current immutable configuration snapshot.
+     * Callers should read it once per operation to see consistent values.
+     *
+     * @return The current snapshot
+     */
+    public TwigConfig getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the snapshot loaded when the plugin started. Startup-only values
+     * such as the proxy UUID must be read from here, a reload doesn't apply them.
+     *
+     * @return The startup snapshot
+     */
+    public TwigConfig getStartupSnapshot() {
+        return startupSnapshot;
+    }
+
+    /**
+     * Registers a listener invoked with the new snapshot after each reload.
+     *
+     * @param listener The listener to register
+     */
+    public void addReloadListener(final Consumer<TwigConfig> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Reload listener cannot be null");
+        }
+        reloadListeners.add(listener);
+    }
+
+    public Path getConfigFile() {
+        return configFile;
     }
 
     private void createDefaultConfig() throws IOException {
@@ -116,6 +195,7 @@ public class ConfigManager {
             throw new IllegalArgumentException("Config key cannot be null");
         }
         config.put(key, value);
+        snapshot = TwigConfig.from(config);
     }
 
     /**
@@ -0,0 +1,117 @@
+package com.github.caiostoduto.twig.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+
+/**
+ * Watches config.yml and reloads the {@link ConfigManager} snapshot when the
+ * file changes, so configuration updates apply without a proxy restart.
+ */
+public class ConfigWatcher implements Closeable {
+    // Editors often write a file in several steps, wait for them to settle
+    private static final long SETTLE_MILLIS = 250;
+
+    private final ConfigManager configManager;
+    private final Logger logger;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public ConfigWatcher(final ConfigManager configManager, final Logger logger) throws IOException {
+        if (configManager == null) {
+            throw new IllegalArgumentException("Config manager cannot be null");
+        }
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger cannot be null");
+        }
+        this.configManager = configManager;
+        this.logger = logger;
+        this.watchService = FileSystems.getDefault().newWatchService();
+
+        configManager.getConfigFile().getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.thread = new Thread(this::run, "twig-config-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        final Path fileName = configManager.getConfigFile().getFileName();
+
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                boolean changed = false;
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (!changed) {
+                    continue;
+                }
+
+                TimeUnit.MILLISECONDS.sleep(SETTLE_MILLIS);
+                drain();
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Watcher closed during shutdown
+        }
+    }
+
+    /**
+     * Discard events queued while waiting for the file to settle.
+     */
+    private void drain() {
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    private void reload() {
+        final TwigConfig previous = configManager.getSnapshot();
+        try {
+            final TwigConfig current = configManager.reload();
+            logger.info("Reloaded configuration from {}", configManager.getConfigFile());
+            current.getWarnings().forEach(logger::warn);
+
+            final List<String> changed = previous.getStartupOnlyChanges(current);
+            if (!changed.isEmpty()) {
+                logger.warn("Changes to {} require a proxy restart to take effect", String.join(", ", changed));
+            }
+        } catch (IOException e) {
+            logger.error("Failed to reload configuration, keeping previous values: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // Listeners are isolated by the manager, anything else must not stop the watcher thread
+            logger.error("Failed to apply reloaded configuration: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+}
@@ -0,0 +1,537 @@
+package com.github.caiostoduto.twig.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import net.kyori.adventure.text.Component;
+
+/**
+ * Immutable, typed snapshot of the plugin configuration.
+ * Values are parsed once when the snapshot is built so hot paths only read
+ * final fields instead of looking up and converting raw YAML values.
+ */
+public final class TwigConfig {
+    public static final String DEFAULT_PROXY_LIMBO = "limbo";
+    public static final String DEFAULT_NOT_ALLOWED_MESSAGE = "You are not whitelisted on this server!";
+    public static final String DEFAULT_GRPC_HOST = "127.0.0.1";
+    public static final int DEFAULT_GRPC_PORT = 50051;
+    public static final String UNIX_SOCKET_SCHEME = "unix://";
+    public static final String DEFAULT_GRPC_LOAD_BALANCING = "round_robin";
+    // Policies shipped with grpc-core/grpc-util (least-request balancing lives in grpc-xds)
+    public static final Set<String> GRPC_LOAD_BALANCING_POLICIES = Set.of("round_robin", "pick_first");
+
+    // Keys only read while the plugin starts, a reload keeps the running values
+    private static final Map<String, Function<TwigConfig, Object>> STARTUP_ONLY_KEYS = startupOnlyKeys();
+
+    private final List<String> warnings = new ArrayList<>();
+    private final String twigUuid;
+    private final Set<String> limboServerNames;
+    private final List<String> limboServerPrefixes;
+    private final String notAllowedMessage;
+    private final Component notAllowedComponent;
+    private final String grpcHost;
+    private final int grpcPort;
+    private final String eventRecordingFile;
+    private final long registrationDebounceMillis;
+    private final boolean grpcUseEpoll;
+    private final int grpcKeepaliveTimeSeconds;
+    private final int grpcKeepaliveTimeoutSeconds;
+    private final int grpcIdleTimeoutSeconds;
+    private final int grpcMaxInboundMessageBytes;
+    private final int grpcFlowControlWindowBytes;
+    private final boolean grpcRequestCompression;
+    private final boolean grpcEventInterestFilter;
+    private final List<String> grpcEndpoints;
+    private final String grpcLoadBalancing;
+    private final int grpcHedgingDelayMillis;
+    private final int grpcHedgingMaxAttempts;
+    private final boolean grpcAccessSession;
+    private final int grpcAccessBatchWindowMicros;
+    private final int grpcAccessBatchMaxSize;
+    private final boolean bridgeVirtualThreads;
+    private final int bridgePlatformThreads;
+    private final int accessCacheTtlSeconds;
+    private final int accessStaleWindowSeconds;
+    private final int decisionSnapshotIntervalSeconds;
+    private final String decisionStore;
+    private final String decisionStoreHost;
+    private final int decisionStorePort;
+    private final String decisionStorePassword;
+    private final int decisionStoreTimeoutMillis;
+    private final int verificationRps;
+    private final int verificationPeriodSeconds;
+    private final int releaseRatePerSecond;
+    private final int releaseMaxConcurrent;
+    private final int releaseMaxAttempts;
+    private final int logRatePerSecond;
+    private final int logSampleEvery;
+    private final int logSummaryIntervalSeconds;
+
+    private TwigConfig(final Map<String, Object> values) {
+        this.twigUuid = string(values, "twig_uuid", "");
+        // A single name or a list of names, where entries ending in * match by prefix
+        final List<String> limboEntries = values.get("proxy_limbo") instanceof List
+                ? stringList(values, "proxy_limbo")
+                : List.of(string(values, "proxy_limbo", DEFAULT_PROXY_LIMBO).trim());
+        this.limboServerNames = limboEntries.stream()
+                .filter(entry -> !entry.endsWith("*"))
+                .collect(Collectors.toUnmodifiableSet());
+        this.limboServerPrefixes = limboEntries.stream()
+                .filter(entry -> entry.endsWith("*"))
+                .map(entry -> entry.substring(0, entry.length() - 1))
+                .collect(Collectors.toUnmodifiableList());
+        this.notAllowedMessage = string(values, "not_allowed_message", DEFAULT_NOT_ALLOWED_MESSAGE);
+        this.notAllowedComponent = Component.text(notAllowedMessage);
+        this.grpcHost = string(values, "grpc_host", DEFAULT_GRPC_HOST);
+        this.grpcPort = integer(values, "grpc_port", DEFAULT_GRPC_PORT);
+        this.eventRecordingFile = string(values, "event_recording_file", "");
+        this.registrationDebounceMillis = Math.max(0, integer(values, "registration_debounce_millis", 2000));
+        this.grpcUseEpoll = bool(values, "grpc_use_epoll", true);
+        this.grpcKeepaliveTimeSeconds = Math.max(0, integer(values, "grpc_keepalive_time_seconds", 20));
+        this.grpcKeepaliveTimeoutSeconds = Math.max(1, integer(values, "grpc_keepalive_timeout_seconds", 5));
+        this.grpcIdleTimeoutSeconds = Math.max(0, integer(values, "grpc_idle_timeout_seconds", 0));
+        this.grpcMaxInboundMessageBytes = Math.max(1024,
+                integer(values, "grpc_max_inbound_message_bytes", 4 * 1024 * 1024));
+        this.grpcFlowControlWindowBytes = Math.max(65535,
+                integer(values, "grpc_flow_control_window_bytes", 1024 * 1024));
+        // grpc_event_compression is the old name of this key
+        this.grpcRequestCompression = bool(values, "grpc_request_compression",
+                bool(values, "grpc_event_compression", false));
+        this.grpcEventInterestFilter = bool(values, "grpc_event_interest_filter", false);
+        this.grpcEndpoints = stringList(values, "grpc_endpoints");
+        final String loadBalancing = string(values, "grpc_load_balancing", DEFAULT_GRPC_LOAD_BALANCING)
+                .trim().toLowerCase(Locale.ROOT);
+        if (GRPC_LOAD_BALANCING_POLICIES.contains(loadBalancing)) {
+            this.grpcLoadBalancing = loadBalancing;
+        } else {
+            // A typo must not stop the channel from being built
+            warnings.add("Unknown grpc_load_balancing `" + loadBalancing + "`, using "
+                    + DEFAULT_GRPC_LOAD_BALANCING);
+            this.grpcLoadBalancing = DEFAULT_GRPC_LOAD_BALANCING;
+        }
+        this.grpcHedgingDelayMillis = Math.max(0, integer(values, "grpc_hedging_delay_millis", 0));
+        // gRPC caps hedged attempts at 5
+        this.grpcHedgingMaxAttempts = Math.min(5, Math.max(2, integer(values, "grpc_hedging_max_attempts", 2)));
+        this.grpcAccessSession = bool(values, "grpc_access_session", false);
+        this.grpcAccessBatchWindowMicros = Math.max(0, integer(values, "grpc_access_batch_window_micros", 500));
+        this.grpcAccessBatchMaxSize = Math.max(1, integer(values, "grpc_access_batch_max_size", 64));
+        this.bridgeVirtualThreads = bool(values, "bridge_virtual_threads", true);
+        this.bridgePlatformThreads = Math.max(1, integer(values, "bridge_platform_threads", 32));
+        this.accessCacheTtlSeconds = Math.max(0, integer(values, "access_cache_ttl_seconds", 60));
+        this.accessStaleWindowSeconds = Math.max(0, integer(values, "access_stale_window_seconds", 0));
+        this.decisionSnapshotIntervalSeconds = Math.max(0, integer(values, "decision_snapshot_interval_seconds", 30));
+        this.decisionStore = string(values, "decision_store", "memory").trim().toLowerCase(Locale.ROOT);
+        this.decisionStoreHost = string(values, "decision_store_host", "127.0.0.1");
+        this.decisionStorePort = integer(values, "decision_store_port", 6379);
+        this.decisionStorePassword = string(values, "decision_store_password", "");
+        this.decisionStoreTimeoutMillis = Math.max(1, integer(values, "decision_store_timeout_millis", 100));
+        this.verificationRps = Math.max(0, integer(values, "verification_rps", 5));
+        this.verificationPeriodSeconds = Math.max(1, integer(values, "verification_period_seconds", 300));
+        this.releaseRatePerSecond = Math.max(1, integer(values, "release_rate_per_second", 5));
+        this.releaseMaxConcurrent = Math.max(1, integer(values, "release_max_concurrent", 10));
+        this.releaseMaxAttempts = Math.max(1, integer(values, "release_max_attempts", 3));
+        this.logRatePerSecond = Math.max(0, integer(values, "log_rate_per_second", 10));
+        this.logSampleEvery = Math.max(1, integer(values, "log_sample_every", 1));
+        this.logSummaryIntervalSeconds = Math.max(0, integer(values, "log_summary_interval_seconds", 60));
+    }
+
+    /**
+     * Build a snapshot from raw configuration values
+     *
+     * @param values Raw values loaded from config.yml
+     * @return The parsed snapshot
+     */
+    public static TwigConfig from(final Map<String, Object> values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Config values cannot be null");
+        }
+        return new TwigConfig(values);
+    }
+
+    /**
+     * Problems found while parsing, each already replaced by its default
+     */
+    public List<String> getWarnings() {
+        return List.copyOf(warnings);
+    }
+
+    public String getTwigUuid() {
+        return twigUuid;
+    }
+
+    /**
+     * Exact limbo server names, without the prefix patterns.
+     */
+    public Set<String> getLimboServerNames() {
+        return limboServerNames;
+    }
+
+    /**
+     * Checks if the given server name is one of the limbo servers.
+     */
+    public boolean isLimboServer(final String serverName) {
+        if (serverName == null) {
+            return false;
+        }
+        if (limboServerNames.contains(serverName)) {
+            return true;
+        }
+        for (String prefix : limboServerPrefixes) {
+            if (serverName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String getNotAllowedMessage() {
+        return notAllowedMessage;
+    }
+
+    /**
+     * Precomputed disconnect message shown to players who are denied access.
+     */
+    public Component getNotAllowedComponent() {
+        return notAllowedComponent;
+    }
+
+    public String getGrpcHost() {
+        return grpcHost;
+    }
+
+    public int getGrpcPort() {
+        return grpcPort;
+    }
+
+    /**
+     * Checks if grpc_host points to a Unix domain socket ({@code unix:///path/to.sock}).
+     */
+    public boolean isGrpcUnixSocket() {
+        return grpcHost.startsWith(UNIX_SOCKET_SCHEME);
+    }
+
+    /**
+     * Path of the Unix domain socket, only meaningful if {@link #isGrpcUnixSocket()}.
+     */
+    public String getGrpcSocketPath() {
+        return grpcHost.substring(UNIX_SOCKET_SCHEME.length());
+    }
+
+    /**
+     * Human readable gRPC target for logging.
+     */
+    public String getGrpcTarget() {
+        if (isGrpcUnixSocket()) {
+            return grpcHost;
+        }
+        return grpcEndpoints.isEmpty() ? grpcHost + ":" + grpcPort : String.join(", ", grpcEndpoints);
+    }
+
+    public String getEventRecordingFile() {
+        return eventRecordingFile;
+    }
+
+    /**
+     * Delay used to batch server registration changes into one update.
+     */
+    public long getRegistrationDebounceMillis() {
+        return registrationDebounceMillis;
+    }
+
+    public boolean isGrpcUseEpoll() {
+        return grpcUseEpoll;
+    }
+
+    /**
+     * Interval between HTTP/2 keepalive pings, 0 disables keepalive.
+     */
+    public int getGrpcKeepaliveTimeSeconds() {
+        return grpcKeepaliveTimeSeconds;
+    }
+
+    public int getGrpcKeepaliveTimeoutSeconds() {
+        return grpcKeepaliveTimeoutSeconds;
+    }
+
+    /**
+     * Idle time before the channel releases its connection, 0 keeps the gRPC default.
+     */
+    public int getGrpcIdleTimeoutSeconds() {
+        return grpcIdleTimeoutSeconds;
+    }
+
+    public int getGrpcMaxInboundMessageBytes() {
+        return grpcMaxInboundMessageBytes;
+    }
+
+    public int getGrpcFlowControlWindowBytes() {
+        return grpcFlowControlWindowBytes;
+    }
+
+    /**
+     * Whether messages sent on the event stream are gzip compressed. Responses
+     * are compressed at the server's choice, gzip is always accepted.
+     */
+    public boolean isGrpcRequestCompression() {
+        return grpcRequestCompression;
+    }
+
+    /**
+     * Whether the event subscription is filtered to the players online on this proxy.
+     */
+    public boolean isGrpcEventInterestFilter() {
+        return grpcEventInterestFilter;
+    }
+
+    /**
+     * Twig bot replicas in {@code host:port} form, empty to use grpc_host/grpc_port.
+     */
+    public List<String> getGrpcEndpoints() {
+        return grpcEndpoints;
+    }
+
+    /**
+     * Load balancing policy across {@link #getGrpcEndpoints()}, {@code round_robin} or {@code pick_first}.
+     */
+    public String getGrpcLoadBalancing() {
+        return grpcLoadBalancing;
+    }
+
+    /**
+     * Delay before a hedged CheckPlayerAccess attempt is sent, 0 disables hedging.
+     */
+    public int getGrpcHedgingDelayMillis() {
+        return grpcHedgingDelayMillis;
+    }
+
+    public int getGrpcHedgingMaxAttempts() {
+        return grpcHedgingMaxAttempts;
+    }
+
+    /**
+     * Whether access checks are multiplexed over a bidirectional AccessSession stream.
+     */
+    public boolean isGrpcAccessSession() {
+        return grpcAccessSession;
+    }
+
+    /**
+     * Microbatch window for access session checks, 0 sends each check immediately.
+     */
+    public int getGrpcAccessBatchWindowMicros() {
+        return grpcAccessBatchWindowMicros;
+    }
+
+    public int getGrpcAccessBatchMaxSize() {
+        return grpcAccessBatchMaxSize;
+    }
+
+    /**
+     * Whether blocking bridge work runs on virtual threads when the runtime supports them (Java 21+).
+     */
+    public boolean isBridgeVirtualThreads() {
+        return bridgeVirtualThreads;
+    }
+
+    /**
+     * Size of the platform thread pool used for blocking bridge work without virtual threads.
+     */
+    public int getBridgePlatformThreads() {
+        return bridgePlatformThreads;
+    }
+
+    /**
+     * How long access decisions are cached, 0 disables caching.
+     */
+    public int getAccessCacheTtlSeconds() {
+        return accessCacheTtlSeconds;
+    }
+
+    /**
+     * How long an expired ALLOWED decision still lets the player join while it
+     * is revalidated, 0 disables stale joins.
+     */
+    public int getAccessStaleWindowSeconds() {
+        return accessStaleWindowSeconds;
+    }
+
+    /**
+     * Interval between decision snapshot writes, 0 disables the snapshot.
+     */
+    public int getDecisionSnapshotIntervalSeconds() {
+        return decisionSnapshotIntervalSeconds;
+    }
+
+    /**
+     * Backend holding access decisions: memory (this proxy only) or redis (shared).
+     */
+    public String getDecisionStore() {
+        return decisionStore;
+    }
+
+    public String getDecisionStoreHost() {
+        return decisionStoreHost;
+    }
+
+    public int getDecisionStorePort() {
+        return decisionStorePort;
+    }
+
+    public String getDecisionStorePassword() {
+        return decisionStorePassword;
+    }
+
+    /**
+     * Connect and read timeout for the shared decision store.
+     */
+    public int getDecisionStoreTimeoutMillis() {
+        return decisionStoreTimeoutMillis;
+    }
+
+    /**
+     * Maximum background re-verification checks per second, 0 disables the verifier.
+     */
+    public int getVerificationRps() {
+        return verificationRps;
+    }
+
+    /**
+     * Target time between two background re-verifications of the same player.
+     */
+    public int getVerificationPeriodSeconds() {
+        return verificationPeriodSeconds;
+    }
+
+    /**
+     * Maximum transfers out of limbo started per second for each target server.
+     */
+    public int getReleaseRatePerSecond() {
+        return releaseRatePerSecond;
+    }
+
+    /**
+     * Maximum transfers out of limbo in flight at once for each target server.
+     */
+    public int getReleaseMaxConcurrent() {
+        return releaseMaxConcurrent;
+    }
+
+    /**
+     * Attempts per transfer out of limbo before the player is told to reconnect.
+     */
+    public int getReleaseMaxAttempts() {
+        return releaseMaxAttempts;
+    }
+
+    /**
+     * Maximum hot-path log lines per category per second, 0 for no limit.
+     */
+    public int getLogRatePerSecond() {
+        return logRatePerSecond;
+    }
+
+    /**
+     * Only every n-th hot-path line per category is considered for logging.
+     */
+    public int getLogSampleEvery() {
+        return logSampleEvery;
+    }
+
+    /**
+     * Interval between activity summaries, 0 disables them.
+     */
+    public int getLogSummaryIntervalSeconds() {
+        return logSummaryIntervalSeconds;
+    }
+
+    /**
+     * Startup-only keys whose value differs between this snapshot and another
+     *
+     * @param other The snapshot to compare with
+     * @return The changed key names, in config.yml order
+     */
+    public List<String> getStartupOnlyChanges(final TwigConfig other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Config snapshot cannot be null");
+        }
+        final List<String> changed = new ArrayList<>();
+        STARTUP_ONLY_KEYS.forEach((key, getter) -> {
+            if (!Objects.equals(getter.apply(this), getter.apply(other))) {
+                changed.add(key);
+            }
+        });
+        return changed;
+    }
+
+    private static Map<String, Function<TwigConfig, Object>> startupOnlyKeys() {
+        final Map<String, Function<TwigConfig, Object>> keys = new LinkedHashMap<>();
+        keys.put("twig_uuid", TwigConfig::getTwigUuid);
+        keys.put("grpc_host", TwigConfig::getGrpcHost);
+        keys.put("grpc_port", TwigConfig::getGrpcPort);
+        keys.put("grpc_endpoints", TwigConfig::getGrpcEndpoints);
+        keys.put("grpc_load_balancing", TwigConfig::getGrpcLoadBalancing);
+        keys.put("grpc_use_epoll", TwigConfig::isGrpcUseEpoll);
+        keys.put("grpc_keepalive_time_seconds", TwigConfig::getGrpcKeepaliveTimeSeconds);
+        keys.put("grpc_keepalive_timeout_seconds", TwigConfig::getGrpcKeepaliveTimeoutSeconds);
+        keys.put("grpc_idle_timeout_seconds", TwigConfig::getGrpcIdleTimeoutSeconds);
+        keys.put("grpc_max_inbound_message_bytes", TwigConfig::getGrpcMaxInboundMessageBytes);
+        keys.put("grpc_flow_control_window_bytes", TwigConfig::getGrpcFlowControlWindowBytes);
+        keys.put("grpc_request_compression", TwigConfig::isGrpcRequestCompression);
+        keys.put("grpc_event_interest_filter", TwigConfig::isGrpcEventInterestFilter);
+        keys.put("grpc_hedging_delay_millis", TwigConfig::getGrpcHedgingDelayMillis);
+        keys.put("grpc_hedging_max_attempts", TwigConfig::getGrpcHedgingMaxAttempts);
+        keys.put("grpc_access_session", TwigConfig::isGrpcAccessSession);
+        keys.put("grpc_access_batch_window_micros", TwigConfig::getGrpcAccessBatchWindowMicros);
+        keys.put("grpc_access_batch_max_size", TwigConfig::getGrpcAccessBatchMaxSize);
+        keys.put("bridge_virtual_threads", TwigConfig::isBridgeVirtualThreads);
+        keys.put("bridge_platform_threads", TwigConfig::getBridgePlatformThreads);
+        keys.put("event_recording_file", TwigConfig::getEventRecordingFile);
+        keys.put("decision_snapshot_interval_seconds", TwigConfig::getDecisionSnapshotIntervalSeconds);
+        keys.put("decision_store", TwigConfig::getDecisionStore);
+        keys.put("decision_store_host", TwigConfig::getDecisionStoreHost);
+        keys.put("decision_store_port", TwigConfig::getDecisionStorePort);
+        keys.put("decision_store_password", TwigConfig::getDecisionStorePassword);
+        keys.put("decision_store_timeout_millis", TwigConfig::getDecisionStoreTimeoutMillis);
+        keys.put("log_summary_interval_seconds", TwigConfig::getLogSummaryIntervalSeconds);
+        return keys;
+    }
+
+    private static String string(final Map<String, Object> values, final String key, final String defaultValue) {
+        final Object value = values.get(key);
+        return value != null ? value.toString() : defaultValue;
+    }
+
+    private static int integer(final Map<String, Object> values, final String key, final int defaultValue) {
+        final Object value = values.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        return defaultValue;
+    }
+
+    private static List<String> stringList(final Map<String, Object> values, final String key) {
+        final Object value = values.get(key);
+        if (value instanceof List) {
+            return ((List<?>) value).stream()
+                    .filter(item -> item != null && !item.toString().trim().isEmpty())
+                    .map(item -> item.toString().trim())
+                    .collect(Collectors.toUnmodifiableList());
+        }
+        return List.of();
+    }
+
+    private static boolean bool(final Map<String, Object> values, final String key, final boolean defaultValue) {
+        final Object value = values.get(key);
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return defaultValue;
+    }
+}
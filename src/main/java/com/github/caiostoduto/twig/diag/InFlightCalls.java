@@ -0,0 +1,87 @@
+package com.github.caiostoduto.twig.diag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+
+/**
+ * Calls currently in flight, held in a fixed table of slots claimed with a
+ * compare-and-set. When every slot is taken the call is simply not tracked.
+ */
+public final class InFlightCalls {
+    private final AtomicReferenceArray<Call> slots;
+
+    public InFlightCalls(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Track a call until {@link #end(Call)} is called with the returned handle
+     */
+    public Call start(final PlayerIdentifier playerId, final String serverName) {
+        final int capacity = slots.length();
+        // Random start so concurrent callers don't race for the same slots
+        final int first = ThreadLocalRandom.current().nextInt(capacity);
+        for (int i = 0; i < capacity; i++) {
+            final int slot = (first + i) % capacity;
+            if (slots.get(slot) == null) {
+                final Call call = new Call(slot, playerId, serverName);
+                if (slots.compareAndSet(slot, null, call)) {
+                    return call;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param call The handle returned by {@link #start}, may be null
+     */
+    public void end(final Call call) {
+        if (call != null) {
+            slots.compareAndSet(call.slot, call, null);
+        }
+    }
+
+    public List<Call> snapshot() {
+        final List<Call> calls = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            final Call call = slots.get(i);
+            if (call != null) {
+                calls.add(call);
+            }
+        }
+        return calls;
+    }
+
+    public static final class Call {
+        private final int slot;
+        private final PlayerIdentifier playerId;
+        private final String serverName;
+        private final long startNanos = System.nanoTime();
+
+        private Call(final int slot, final PlayerIdentifier playerId, final String serverName) {
+            this.slot = slot;
+            this.playerId = playerId;
+            this.serverName = serverName;
+        }
+
+        public PlayerIdentifier getPlayerId() {
+            return playerId;
+        }
+
+        public String getServerName() {
+            return serverName;
+        }
+
+        public long getAgeNanos() {
+            return System.nanoTime() - startNanos;
+        }
+    }
+}
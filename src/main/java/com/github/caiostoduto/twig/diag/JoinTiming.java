@@ -0,0 +1,42 @@
+package com.github.caiostoduto.twig.diag;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+
+/**
+ * How long one join's access check took, split into phases: looking up
+ * cached decisions, waiting for the gRPC call, and applying the decision.
+ */
+public final class JoinTiming {
+    private final PlayerIdentifier playerId;
+    private final String serverName;
+    private final String outcome;
+    private final long lookupNanos;
+    private final long rpcNanos;
+    private final long applyNanos;
+
+    public JoinTiming(final PlayerIdentifier playerId, final String serverName, final String outcome,
+            final long lookupNanos, final long rpcNanos, final long applyNanos) {
+        this.playerId = playerId;
+        this.serverName = serverName;
+        this.outcome = outcome;
+        this.lookupNanos = lookupNanos;
+        this.rpcNanos = rpcNanos;
+        this.applyNanos = applyNanos;
+    }
+
+    public long getTotalNanos() {
+        return lookupNanos + rpcNanos + applyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return playerId + " -> " + serverName + " " + outcome + " " + millis(getTotalNanos()) + " ms (lookup "
+                + millis(lookupNanos) + " ms, rpc " + millis(rpcNanos) + " ms, apply " + millis(applyNanos) + " ms)";
+    }
+
+    private static long millis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
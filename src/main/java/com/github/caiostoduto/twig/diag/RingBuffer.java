@@ -0,0 +1,53 @@
+package com.github.caiostoduto.twig.diag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size buffer keeping the most recent items. Writers claim a slot with
+ * one atomic increment and never wait for each other or for readers.
+ */
+public final class RingBuffer<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final int mask;
+
+    /**
+     * @param capacity Number of items kept, rounded up to a power of two
+     */
+    public RingBuffer(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(Math.max(size, 1));
+        this.mask = slots.length() - 1;
+    }
+
+    public void add(final T item) {
+        slots.set((int) (cursor.getAndIncrement() & mask), item);
+    }
+
+    /**
+     * Copy the items currently held, in no particular order
+     */
+    public List<T> snapshot() {
+        final List<T> items = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            final T item = slots.get(i);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Number of items ever added
+     */
+    public long getTotal() {
+        return cursor.get();
+    }
+}
@@ -0,0 +1,226 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.google.protobuf.UnsafeByteOperations;
+
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import minecraft_bridge.MinecraftBridgeGrpc;
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessCheck;
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessCheckBatch;
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessCheckResult;
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessSessionOpen;
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessSessionRequest;
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessSessionResponse;
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+/**
+ * Multiplexes access checks over one long-lived {@code AccessSession} stream.
+ * The proxy ID is sent once when the stream opens, and checks submitted within
+ * the microbatch window are sent together in a single message.
+ */
+public class AccessSessionClient {
+    private final MinecraftBridgeGrpc.MinecraftBridgeStub asyncStub;
+    private final Logger logger;
+    private final RequestTemplates templates;
+    private final long batchWindowMicros;
+    private final int maxBatchSize;
+
+    private final AtomicLong nextCorrelationId = new AtomicLong();
+    private final Map<Long, CompletableFuture<PlayerAccessResponse>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService batcher;
+
+    // Guarded by this
+    private StreamObserver<AccessSessionRequest> requestObserver;
+    private List<AccessCheck> batch = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private volatile boolean unsupported = false;
+
+    public AccessSessionClient(final MinecraftBridgeGrpc.MinecraftBridgeStub asyncStub, final Logger logger,
+            final RequestTemplates templates, final long batchWindowMicros, final int maxBatchSize) {
+        if (templates == null) {
+            throw new IllegalArgumentException("Request templates cannot be null");
+        }
+        this.asyncStub = asyncStub;
+        this.logger = logger;
+        this.templates = templates;
+        this.batchWindowMicros = batchWindowMicros;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "twig-access-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Check if the server supports access sessions. Once the server answers
+     * UNIMPLEMENTED, callers should use unary calls instead.
+     */
+    public boolean isSupported() {
+        return !unsupported;
+    }
+
+    public String getProxyId() {
+        return templates.getProxyId();
+    }
+
+    /**
+     * Submit an access check on the session
+     *
+     * @param playerId   The player's identifier
+     * @param serverName The target server name
+     * @return Future completed with the response, or exceptionally if the stream
+     *         fails. Cancel it to stop waiting for the response.
+     */
+    public CompletableFuture<PlayerAccessResponse> check(final PlayerIdentifier playerId, final String serverName) {
+        final long correlationId = nextCorrelationId.incrementAndGet();
+        final CompletableFuture<PlayerAccessResponse> future = new CompletableFuture<>();
+        pending.put(correlationId, future);
+        // Callers that give up cancel the future, which also drops the pending entry
+        future.whenComplete((response, error) -> pending.remove(correlationId));
+
+        final AccessCheck check = AccessCheck.newBuilder()
+                .setCorrelationId(correlationId)
+                .setPlayerName(playerId.getUsername())
+                .setPlayerIpv4(playerId.getIpAddress())
+                .setPlayerAddress(UnsafeByteOperations.unsafeWrap(playerId.getAddressBytes()))
+                .setServerNameBytes(templates.serverName(serverName))
+                .build();
+
+        synchronized (this) {
+            batch.add(check);
+            if (batch.size() >= maxBatchSize || batchWindowMicros <= 0) {
+                flush();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                batcher.schedule(this::flush, batchWindowMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Send every check collected in the current window
+     */
+    private synchronized void flush() {
+        flushScheduled = false;
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        final List<AccessCheck> checks = batch;
+        batch = new ArrayList<>();
+
+        try {
+            ensureOpen().onNext(AccessSessionRequest.newBuilder()
+                    .setChecks(AccessCheckBatch.newBuilder().addAllChecks(checks))
+                    .build());
+        } catch (RuntimeException e) {
+            for (AccessCheck check : checks) {
+                fail(check.getCorrelationId(), e);
+            }
+        }
+    }
+
+    /**
+     * Open the stream if needed and send the proxy ID once
+     */
+    private StreamObserver<AccessSessionRequest> ensureOpen() {
+        if (requestObserver != null) {
+            return requestObserver;
+        }
+
+        final StreamObserver<AccessSessionRequest> observer = asyncStub.accessSession(
+                new StreamObserver<AccessSessionResponse>() {
+                    @Override
+                    public void onNext(final AccessSessionResponse response) {
+                        for (AccessCheckResult result : response.getResultsList()) {
+                            final CompletableFuture<PlayerAccessResponse> future = pending
+                                    .remove(result.getCorrelationId());
+                            if (future != null) {
+                                future.complete(result.getResponse());
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onError(final Throwable t) {
+                        if (Status.fromThrowable(t).getCode() == Status.Code.UNIMPLEMENTED) {
+                            unsupported = true;
+                            logger.warn("gRPC server does not support access sessions, using unary calls");
+                        } else {
+                            logger.warn("Access session closed: {}", t.getMessage());
+                        }
+                        closed(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        closed(Status.UNAVAILABLE.withDescription("Access session completed by server")
+                                .asRuntimeException());
+                    }
+                });
+
+        observer.onNext(AccessSessionRequest.newBuilder()
+                .setOpen(AccessSessionOpen.newBuilder().setProxyIdBytes(templates.getProxyIdBytes()))
+                .build());
+        requestObserver = observer;
+        return observer;
+    }
+
+    /**
+     * Fail every pending check so callers can fall back to unary calls.
+     * The stream is reopened by the next batch.
+     */
+    private void closed(final Throwable cause) {
+        synchronized (this) {
+            requestObserver = null;
+        }
+        for (Long correlationId : pending.keySet()) {
+            fail(correlationId, cause);
+        }
+    }
+
+    private void fail(final long correlationId, final Throwable cause) {
+        final CompletableFuture<PlayerAccessResponse> future = pending.remove(correlationId);
+        if (future != null) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Close the stream and stop the batching thread
+     */
+    public void shutdown() {
+        batcher.shutdownNow();
+        synchronized (this) {
+            if (requestObserver instanceof ClientCallStreamObserver) {
+                // Cancel rather than half-close so the channel can terminate without waiting for the server
+                ((ClientCallStreamObserver<AccessSessionRequest>) requestObserver)
+                        .cancel("Access session shut down", null);
+            } else if (requestObserver != null) {
+                try {
+                    requestObserver.onCompleted();
+                } catch (RuntimeException e) {
+                    // Stream already cancelled
+                }
+            }
+            requestObserver = null;
+        }
+        closed(Status.CANCELLED.withDescription("Access session shut down").asRuntimeException());
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking bridge work (access checks, registration retries and
+ * verification fan-out) off the proxy's event and scheduler threads. On Java
+ * 21+ every task gets its own virtual thread, so concurrency is bounded by the
+ * Twig bot rather than a pool size; on Java 17, or when virtual threads are
+ * disabled, tasks queue for a bounded platform pool.
+ */
+public final class BridgeExecutor implements Executor {
+    private static final String THREAD_NAME_PREFIX = "twig-bridge-";
+    private static final long PLATFORM_KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutorService delegate;
+    private final boolean virtual;
+
+    public BridgeExecutor(final boolean useVirtualThreads, final int platformThreads) {
+        if (platformThreads <= 0) {
+            throw new IllegalArgumentException("Platform thread count must be positive");
+        }
+
+        final ExecutorService virtualExecutor = useVirtualThreads
+                ? VirtualThreads.newExecutor(THREAD_NAME_PREFIX)
+                : null;
+        this.virtual = virtualExecutor != null;
+        this.delegate = virtual ? virtualExecutor : newPlatformPool(platformThreads);
+    }
+
+    private static ExecutorService newPlatformPool(final int threads) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                PLATFORM_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Whether tasks run on virtual threads
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        delegate.execute(task);
+    }
+
+    /**
+     * Stop accepting tasks and interrupt running ones
+     */
+    public void shutdown() {
+        delegate.shutdownNow();
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.config.TwigConfig;
+
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.unix.DomainSocketAddress;
+import minecraft_bridge.MinecraftBridgeGrpc;
+
+/**
+ * Builds the Netty channel used by {@link MinecraftBridgeClient} from the
+ * transport settings in config.yml, and owns the event loop backing it.
+ */
+public class ChannelFactory {
+    // A handful of connections only need one I/O thread
+    private static final int EVENT_LOOP_THREADS = 1;
+
+    private final TwigConfig config;
+    private final Logger logger;
+    private EventLoopGroup eventLoopGroup;
+
+    public ChannelFactory(final TwigConfig config, final Logger logger) {
+        if (config == null) {
+            throw new IllegalArgumentException("Config cannot be null");
+        }
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger cannot be null");
+        }
+        this.config = config;
+        this.logger = logger;
+    }
+
+    /**
+     * Build a plaintext channel to the configured gRPC host
+     *
+     * @return The configured channel
+     * @throws IllegalStateException if a Unix domain socket is configured but
+     *                               epoll is unavailable
+     */
+    public ManagedChannel build() {
+        if (config.isGrpcUnixSocket()) {
+            return buildUnixSocket();
+        }
+
+        final NettyChannelBuilder builder;
+        if (config.getGrpcEndpoints().isEmpty()) {
+            builder = NettyChannelBuilder.forAddress(config.getGrpcHost(), config.getGrpcPort());
+        } else {
+            builder = balancedBuilder();
+        }
+        builder.usePlaintext();
+
+        if (config.isGrpcUseEpoll() && Epoll.isAvailable()) {
+            eventLoopGroup = new EpollEventLoopGroup(EVENT_LOOP_THREADS);
+            builder.eventLoopGroup(eventLoopGroup).channelType(EpollSocketChannel.class);
+            logger.info("Using native epoll transport for gRPC");
+        } else {
+            if (config.isGrpcUseEpoll()) {
+                logger.warn("Native epoll transport is unavailable, falling back to NIO: {}",
+                        Epoll.unavailabilityCause().getMessage());
+            }
+            eventLoopGroup = new NioEventLoopGroup(EVENT_LOOP_THREADS);
+            builder.eventLoopGroup(eventLoopGroup).channelType(NioSocketChannel.class);
+        }
+
+        configure(builder);
+        return builder.build();
+    }
+
+    /**
+     * Builder balancing across the configured Twig bot replicas
+     */
+    @SuppressWarnings("deprecation")
+    private NettyChannelBuilder balancedBuilder() {
+        // Validated when the config is loaded
+        final String policy = config.getGrpcLoadBalancing();
+
+        final StaticNameResolverProvider resolver = new StaticNameResolverProvider(config.getGrpcEndpoints());
+        logger.info("Balancing gRPC calls across {} endpoint(s) using {}", config.getGrpcEndpoints().size(),
+                policy);
+
+        return NettyChannelBuilder.forTarget(resolver.getTarget())
+                .nameResolverFactory(resolver)
+                .defaultLoadBalancingPolicy(policy);
+    }
+
+    /**
+     * Build a channel over a Unix domain socket, skipping the loopback TCP
+     * stack when the Twig bot runs on the same host
+     */
+    private ManagedChannel buildUnixSocket() {
+        if (!Epoll.isAvailable()) {
+            throw new IllegalStateException("Unix domain sockets require the native epoll transport, which is "
+                    + "unavailable: " + Epoll.unavailabilityCause().getMessage());
+        }
+
+        eventLoopGroup = new EpollEventLoopGroup(EVENT_LOOP_THREADS);
+        final NettyChannelBuilder builder = NettyChannelBuilder
+                .forAddress(new DomainSocketAddress(config.getGrpcSocketPath()))
+                .eventLoopGroup(eventLoopGroup)
+                .channelType(EpollDomainSocketChannel.class)
+                .usePlaintext();
+        logger.info("Using Unix domain socket transport for gRPC: {}", config.getGrpcSocketPath());
+
+        configure(builder);
+        return builder.build();
+    }
+
+    /**
+     * Apply keepalive, idle and flow-control settings
+     */
+    private void configure(final NettyChannelBuilder builder) {
+        if (config.getGrpcKeepaliveTimeSeconds() > 0) {
+            // Detects dead connections (e.g. dropped NAT mappings) in seconds instead of
+            // waiting for the next RPC to fail
+            builder.keepAliveTime(config.getGrpcKeepaliveTimeSeconds(), TimeUnit.SECONDS)
+                    .keepAliveTimeout(config.getGrpcKeepaliveTimeoutSeconds(), TimeUnit.SECONDS)
+                    .keepAliveWithoutCalls(true);
+        }
+        if (config.getGrpcIdleTimeoutSeconds() > 0) {
+            builder.idleTimeout(config.getGrpcIdleTimeoutSeconds(), TimeUnit.SECONDS);
+        }
+
+        builder.maxInboundMessageSize(config.getGrpcMaxInboundMessageBytes())
+                .flowControlWindow(config.getGrpcFlowControlWindowBytes());
+
+        if (config.getGrpcHedgingDelayMillis() > 0) {
+            builder.defaultServiceConfig(hedgingServiceConfig(config)).enableRetry();
+        }
+    }
+
+    /**
+     * Service config hedging the idempotent CheckPlayerAccess call: if no response
+     * arrives within the delay (ideally the observed p95), another attempt is sent
+     * and the first response wins
+     */
+    static Map<String, Object> hedgingServiceConfig(final TwigConfig config) {
+        final Map<String, Object> hedgingPolicy = Map.of(
+                "maxAttempts", (double) config.getGrpcHedgingMaxAttempts(),
+                "hedgingDelay", String.format(Locale.ROOT, "%.3fs", config.getGrpcHedgingDelayMillis() / 1000.0),
+                "nonFatalStatusCodes", List.of("UNAVAILABLE", "DEADLINE_EXCEEDED"));
+        final Map<String, Object> methodConfig = Map.of(
+                "name", List.of(Map.of(
+                        "service", MinecraftBridgeGrpc.SERVICE_NAME,
+                        "method", "CheckPlayerAccess")),
+                "hedgingPolicy", hedgingPolicy);
+        return Map.of("methodConfig", List.of(methodConfig));
+    }
+
+    /**
+     * Release the event loop once the channel has terminated
+     */
+    public void shutdown() {
+        if (eventLoopGroup != null) {
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.RecordedEvent;
+import minecraft_bridge.MinecraftBridgeOuterClass.ServerEvent;
+
+/**
+ * Records every {@link ServerEvent} received from the event stream into a
+ * length-delimited protobuf file, so production bursts can be replayed later
+ * with {@link EventReplayer}.
+ */
+public class EventRecorder implements Closeable {
+    private static final int FLUSH_INTERVAL = 64;
+
+    private final Path file;
+    private final Logger logger;
+    private final OutputStream out;
+    private final long startNanos;
+    private int unflushed = 0;
+    private boolean failed = false;
+
+    public EventRecorder(final Path file, final Logger logger) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Recording file cannot be null");
+        }
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger cannot be null");
+        }
+        this.file = file;
+        this.logger = logger;
+        this.out = new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Append an event to the recording. Failures are logged once and further
+     * events are dropped, so a full disk never breaks event handling.
+     *
+     * @param event The event received from the stream
+     */
+    public synchronized void record(final ServerEvent event) {
+        if (failed) {
+            return;
+        }
+
+        try {
+            RecordedEvent.newBuilder()
+                    .setReceivedAtNanos(System.nanoTime() - startNanos)
+                    .setEvent(event)
+                    .build()
+                    .writeDelimitedTo(out);
+
+            if (++unflushed >= FLUSH_INTERVAL) {
+                out.flush();
+                unflushed = 0;
+            }
+        } catch (IOException e) {
+            failed = true;
+            logger.error("Failed to record event to {}, recording stopped: {}", file, e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.RecordedEvent;
+import minecraft_bridge.MinecraftBridgeOuterClass.ServerEvent;
+
+/**
+ * Feeds a recording produced by {@link EventRecorder} back through an event
+ * handler, either at the original pace, accelerated, or as fast as possible.
+ */
+public class EventReplayer {
+    private final MinecraftBridgeClient grpcClient;
+
+    public EventReplayer(final MinecraftBridgeClient grpcClient) {
+        if (grpcClient == null) {
+            throw new IllegalArgumentException("gRPC client cannot be null");
+        }
+        this.grpcClient = grpcClient;
+    }
+
+    /**
+     * Replay a recording file
+     *
+     * @param file    The recording file
+     * @param speed   Replay speed multiplier (1 = original pace, 0 = no pacing)
+     * @param handler Handler receiving each recorded event
+     * @return Report describing lag and RPCs issued during the replay
+     * @throws IllegalArgumentException if speed is negative
+     * @throws IOException              if the file cannot be read
+     * @throws InterruptedException     if the replay is interrupted
+     */
+    public ReplayReport replay(final Path file, final double speed, final Consumer<ServerEvent> handler)
+            throws IOException, InterruptedException {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Replay speed cannot be negative");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Event handler cannot be null");
+        }
+
+        final long rpcsBefore = grpcClient.getRpcCount();
+        final long startNanos = System.nanoTime();
+        long events = 0;
+        long totalLagNanos = 0;
+        long maxLagNanos = 0;
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            RecordedEvent recorded;
+            while ((recorded = RecordedEvent.parseDelimitedFrom(in)) != null) {
+                final long dueNanos = speed == 0 ? 0 : (long) (recorded.getReceivedAtNanos() / speed);
+                final long waitNanos = dueNanos - (System.nanoTime() - startNanos);
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+
+                handler.accept(recorded.getEvent());
+
+                // Lag is how far behind the recorded schedule the event finished processing
+                final long lagNanos = Math.max(0, System.nanoTime() - startNanos - dueNanos);
+                totalLagNanos += lagNanos;
+                maxLagNanos = Math.max(maxLagNanos, lagNanos);
+                events++;
+            }
+        }
+
+        return new ReplayReport(events, System.nanoTime() - startNanos,
+                events == 0 ? 0 : totalLagNanos / events, maxLagNanos,
+                grpcClient.getRpcCount() - rpcsBefore);
+    }
+
+    /**
+     * Summary of a replay run.
+     */
+    public static class ReplayReport {
+        private final long events;
+        private final long durationNanos;
+        private final long meanLagNanos;
+        private final long maxLagNanos;
+        private final long rpcsIssued;
+
+        public ReplayReport(final long events, final long durationNanos, final long meanLagNanos,
+                final long maxLagNanos, final long rpcsIssued) {
+            this.events = events;
+            this.durationNanos = durationNanos;
+            this.meanLagNanos = meanLagNanos;
+            this.maxLagNanos = maxLagNanos;
+            this.rpcsIssued = rpcsIssued;
+        }
+
+        public long getEvents() {
+            return events;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public long getMeanLagNanos() {
+            return meanLagNanos;
+        }
+
+        public long getMaxLagNanos() {
+            return maxLagNanos;
+        }
+
+        public long getRpcsIssued() {
+            return rpcsIssued;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d event(s) in %d ms, lag mean %.2f ms / max %.2f ms, %d RPC(s) issued",
+                    events, TimeUnit.NANOSECONDS.toMillis(durationNanos), meanLagNanos / 1_000_000.0,
+                    maxLagNanos / 1_000_000.0, rpcsIssued);
+        }
+    }
+}
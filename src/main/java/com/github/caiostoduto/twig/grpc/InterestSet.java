@@ -0,0 +1,145 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.google.protobuf.UnsafeByteOperations;
+
+import io.grpc.stub.StreamObserver;
+import minecraft_bridge.MinecraftBridgeOuterClass.EventSubscription;
+import minecraft_bridge.MinecraftBridgeOuterClass.InterestDelta;
+import minecraft_bridge.MinecraftBridgeOuterClass.InterestUpdate;
+import minecraft_bridge.MinecraftBridgeOuterClass.InterestedPlayer;
+
+/**
+ * Players this proxy wants events for, kept in sync with the server over the
+ * {@code SubscribeInterestEvents} stream. Every stream starts with the full
+ * set; later changes are collected for a short window and sent as one delta.
+ */
+public class InterestSet {
+    private static final long FLUSH_WINDOW_MILLIS = 50;
+
+    private final ScheduledExecutorService executor;
+    private final Logger logger;
+    private volatile Supplier<Collection<PlayerIdentifier>> onlinePlayers = List::of;
+
+    // Guarded by this
+    private StreamObserver<InterestUpdate> stream;
+    private final Set<PlayerIdentifier> added = new HashSet<>();
+    private final Set<PlayerIdentifier> removed = new HashSet<>();
+    private boolean flushScheduled = false;
+
+    public InterestSet(final ScheduledExecutorService executor, final Logger logger) {
+        this.executor = executor;
+        this.logger = logger;
+    }
+
+    /**
+     * Set the source of the full set, read whenever a stream is attached
+     */
+    public void setOnlinePlayers(final Supplier<Collection<PlayerIdentifier>> onlinePlayers) {
+        if (onlinePlayers == null) {
+            throw new IllegalArgumentException("Online players supplier cannot be null");
+        }
+        this.onlinePlayers = onlinePlayers;
+    }
+
+    public synchronized void add(final PlayerIdentifier playerId) {
+        if (stream == null) {
+            // The next stream starts with the full set
+            return;
+        }
+        removed.remove(playerId);
+        added.add(playerId);
+        scheduleFlush();
+    }
+
+    public synchronized void remove(final PlayerIdentifier playerId) {
+        if (stream == null) {
+            return;
+        }
+        if (!added.remove(playerId)) {
+            removed.add(playerId);
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Open the subscription on a new stream and send the full set
+     */
+    synchronized void attach(final StreamObserver<InterestUpdate> stream, final EventSubscription subscription) {
+        this.stream = stream;
+        added.clear();
+        removed.clear();
+
+        final InterestDelta.Builder reset = InterestDelta.newBuilder().setReset(true);
+        for (PlayerIdentifier playerId : onlinePlayers.get()) {
+            reset.addAdded(toInterestedPlayer(playerId));
+        }
+
+        stream.onNext(InterestUpdate.newBuilder().setSubscription(subscription).build());
+        stream.onNext(InterestUpdate.newBuilder().setDelta(reset).build());
+        logger.debug("Sent event interest set with {} player(s)", reset.getAddedCount());
+    }
+
+    /**
+     * Forget the stream after it failed or was closed
+     */
+    synchronized void detach() {
+        stream = null;
+        added.clear();
+        removed.clear();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled) {
+            return;
+        }
+        try {
+            executor.schedule(this::flush, FLUSH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+            flushScheduled = true;
+        } catch (RejectedExecutionException e) {
+            logger.debug("Event interest update skipped, client is shutting down");
+        }
+    }
+
+    private synchronized void flush() {
+        flushScheduled = false;
+        if (stream == null || (added.isEmpty() && removed.isEmpty())) {
+            return;
+        }
+
+        final InterestDelta.Builder delta = InterestDelta.newBuilder();
+        for (PlayerIdentifier playerId : added) {
+            delta.addAdded(toInterestedPlayer(playerId));
+        }
+        for (PlayerIdentifier playerId : removed) {
+            delta.addRemoved(toInterestedPlayer(playerId));
+        }
+        added.clear();
+        removed.clear();
+
+        try {
+            stream.onNext(InterestUpdate.newBuilder().setDelta(delta).build());
+        } catch (RuntimeException e) {
+            // The stream is failing, the reconnect resends the full set
+            logger.debug("Failed to send event interest update: {}", e.getMessage());
+        }
+    }
+
+    private static InterestedPlayer toInterestedPlayer(final PlayerIdentifier playerId) {
+        return InterestedPlayer.newBuilder()
+                .setPlayerName(playerId.getUsername())
+                .setPlayerAddress(UnsafeByteOperations.unsafeWrap(playerId.getAddressBytes()))
+                .build();
+    }
+}
@@ -1,47 +1,207 @@
 package com.github.caiostoduto.twig.grpc;
 
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.github.caiostoduto.twig.diag.InFlightCalls;
+import com.google.protobuf.InvalidProtocolBufferException;
+
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
-import io.grpc.stub.StreamObserver;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
 import minecraft_bridge.MinecraftBridgeGrpc;
 import minecraft_bridge.MinecraftBridgeOuterClass.EventSubscription;
 import minecraft_bridge.MinecraftBridgeOuterClass.EventType;
+import minecraft_bridge.MinecraftBridgeOuterClass.InterestUpdate;
 import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessRequest;
 import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
 import minecraft_bridge.MinecraftBridgeOuterClass.ProxyRegistration;
+import minecraft_bridge.MinecraftBridgeOuterClass.ProxyRegistrationUpdate;
 import minecraft_bridge.MinecraftBridgeOuterClass.RegistrationResponse;
 import minecraft_bridge.MinecraftBridgeOuterClass.ServerEvent;
-import minecraft_bridge.MinecraftBridgeOuterClass.MinecraftServer;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 public class MinecraftBridgeClient {
-    private final ManagedChannel channel;
-    private final MinecraftBridgeGrpc.MinecraftBridgeBlockingStub blockingStub;
-    private final MinecraftBridgeGrpc.MinecraftBridgeStub asyncStub;
+    private static final long ACCESS_SESSION_TIMEOUT_SECONDS = 10;
+    private static final long EVENT_RECONNECT_DELAY_SECONDS = 5;
+    private static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofMillis(500);
+    private static final long CHANNEL_TERMINATION_MILLIS = 200;
+    private static final int TRACKED_ACCESS_CHECKS = 256;
+
+    private final ChannelFactory channelFactory;
+    // Built in the background so plugin init doesn't wait on gRPC, Netty and protobuf class loading
+    private final CompletableFuture<Connection> connection;
     private final Logger logger;
+    private final LongAdder rpcCount = new LongAdder();
     private volatile boolean registered = false;
+    private volatile EventRecorder eventRecorder;
+    private final boolean accessSessionEnabled;
+    private final long accessBatchWindowMicros;
+    private final int accessBatchMaxSize;
+    private volatile AccessSessionClient accessSession;
+    // Rebuilt when the proxy ID changes, i.e. at most once per config snapshot
+    private volatile RequestTemplates templates;
+
+    // Lifecycle: once draining, no new calls are accepted and the event stream is not reconnected
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Object drainLock = new Object();
+    private final ScheduledExecutorService reconnectExecutor;
+    private volatile boolean draining = false;
+    private volatile ClientCallStreamObserver<?> eventStream;
 
-    public MinecraftBridgeClient(final String host, final int port, final Logger logger) {
-        if (host == null || host.trim().isEmpty()) {
+    // Interest-set subscription, falls back to SubscribeEvents once the server answers UNIMPLEMENTED
+    private final boolean eventInterestFilter;
+    private final InterestSet interest;
+    private volatile boolean interestUnsupported = false;
+
+    // Diagnostics for /twig diag, written without locks on the call and event paths
+    private final InFlightCalls inFlightChecks = new InFlightCalls(TRACKED_ACCESS_CHECKS);
+    private final AtomicInteger reconnectCount = new AtomicInteger();
+    private volatile EventStreamState eventStreamState = EventStreamState.IDLE;
+    private volatile long lastEventAt = 0;
+    private volatile long streamFailedAt = 0;
+    private volatile long lastReconnectLagMillis = 0;
+
+    /**
+     * @param executor Builds the channel and warms up the generated messages
+     */
+    public MinecraftBridgeClient(final TwigConfig config, final Logger logger, final Executor executor) {
+        if (config == null) {
+            throw new IllegalArgumentException("Config cannot be null");
+        }
+        if (config.getGrpcHost().trim().isEmpty()) {
             throw new IllegalArgumentException("gRPC host cannot be null or empty");
         }
-        if (port <= 0 || port > 65535) {
+        if (!config.isGrpcUnixSocket() && (config.getGrpcPort() <= 0 || config.getGrpcPort() > 65535)) {
             throw new IllegalArgumentException("gRPC port must be between 1 and 65535");
         }
         if (logger == null) {
             throw new IllegalArgumentException("Logger cannot be null");
         }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
         this.logger = logger;
-        this.channel = ManagedChannelBuilder.forAddress(host, port)
-                .usePlaintext()
+        this.channelFactory = new ChannelFactory(config, logger);
+        this.connection = CompletableFuture.supplyAsync(() -> connect(config.isGrpcRequestCompression()), executor);
+        this.connection.whenComplete((ready, error) -> {
+            if (error != null) {
+                final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                logger.error("Failed to build gRPC channel: {}", cause.getMessage(), cause);
+            }
+        });
+        this.accessSessionEnabled = config.isGrpcAccessSession();
+        this.accessBatchWindowMicros = config.getGrpcAccessBatchWindowMicros();
+        this.accessBatchMaxSize = config.getGrpcAccessBatchMaxSize();
+        this.reconnectExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "twig-event-reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventInterestFilter = config.isGrpcEventInterestFilter();
+        this.interest = new InterestSet(reconnectExecutor, logger);
+    }
+
+    /**
+     * Build the channel and stubs, loading the generated message classes first
+     */
+    private Connection connect(final boolean requestCompression) {
+        final long startNanos = System.nanoTime();
+        warmUpMessages();
+
+        final ManagedChannel channel = channelFactory.build();
+        // Only compresses what this proxy sends, gzip responses are accepted either way
+        final MinecraftBridgeGrpc.MinecraftBridgeStub asyncStub = requestCompression
+                ? MinecraftBridgeGrpc.newStub(channel).withCompression("gzip")
+                : MinecraftBridgeGrpc.newStub(channel);
+        final Connection ready = new Connection(channel, MinecraftBridgeGrpc.newBlockingStub(channel), asyncStub);
+
+        logger.info("gRPC channel ready in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return ready;
+    }
+
+    /**
+     * Round-trip the messages of the join path so their classes and codecs are
+     * loaded before the first player connects
+     */
+    private static void warmUpMessages() {
+        final PlayerAccessRequest request = PlayerAccessRequest.newBuilder()
+                .setPlayerName("warmup")
+                .setServerName("warmup")
                 .build();
-        this.blockingStub = MinecraftBridgeGrpc.newBlockingStub(channel);
-        this.asyncStub = MinecraftBridgeGrpc.newStub(channel);
+        try {
+            PlayerAccessRequest.parseFrom(request.toByteString());
+            PlayerAccessResponse.parseFrom(PlayerAccessResponse.getDefaultInstance().toByteString());
+            ServerEvent.parseFrom(ServerEvent.getDefaultInstance().toByteString());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException("Generated messages failed to round-trip", e);
+        }
+    }
+
+    /**
+     * Wait for the channel to be built
+     *
+     * @throws StatusRuntimeException with UNAVAILABLE if the channel could not be built
+     */
+    private Connection connection() {
+        try {
+            return connection.join();
+        } catch (CompletionException e) {
+            throw Status.UNAVAILABLE.withDescription("gRPC channel could not be built")
+                    .withCause(e.getCause()).asRuntimeException();
+        }
+    }
+
+    /**
+     * Get the request templates for the proxy ID, rebuilding them if it changed
+     *
+     * @throws IllegalArgumentException if proxyId is null or empty
+     */
+    private RequestTemplates templates(final String proxyId) {
+        RequestTemplates current = templates;
+        if (current == null || !current.isFor(proxyId)) {
+            current = new RequestTemplates(proxyId);
+            templates = current;
+        }
+        return current;
+    }
+
+    /**
+     * Track a call so shutdown can drain it
+     *
+     * @throws StatusRuntimeException with UNAVAILABLE if the client is shutting down
+     */
+    private void beginCall() {
+        inFlight.incrementAndGet();
+        if (draining) {
+            endCall();
+            throw Status.UNAVAILABLE.withDescription("gRPC client is shutting down").asRuntimeException();
+        }
+        rpcCount.increment();
+    }
+
+    private void endCall() {
+        if (inFlight.decrementAndGet() == 0 && draining) {
+            synchronized (drainLock) {
+                drainLock.notifyAll();
+            }
+        }
     }
 
     /**
@@ -55,25 +215,20 @@ public class MinecraftBridgeClient {
      * @throws StatusRuntimeException   if the RPC fails
      */
     public RegistrationResponse registerProxy(final String proxyId, final List<String> serverNames) {
-        if (proxyId == null || proxyId.trim().isEmpty()) {
-            throw new IllegalArgumentException("Proxy ID cannot be null or empty");
-        }
         if (serverNames == null) {
             throw new IllegalArgumentException("Server names list cannot be null");
         }
 
-        // Build MinecraftServer list from server names
-        final List<MinecraftServer> servers = serverNames.stream()
-                .map(name -> MinecraftServer.newBuilder().setName(name).build())
-                .collect(java.util.stream.Collectors.toList());
-
+        // Server messages come from the interned table, re-registrations don't rebuild them
+        final RequestTemplates requestTemplates = templates(proxyId);
         final ProxyRegistration request = ProxyRegistration.newBuilder()
-                .setProxyId(proxyId)
-                .addAllServers(servers)
+                .setProxyIdBytes(requestTemplates.getProxyIdBytes())
+                .addAllServers(requestTemplates.servers(serverNames))
                 .build();
 
+        beginCall();
         try {
-            final RegistrationResponse response = blockingStub.registerProxy(request);
+            final RegistrationResponse response = connection().blockingStub.registerProxy(request);
             if (response.getSuccess()) {
                 registered = true;
                 logger.info("Successfully registered proxy with {} servers", serverNames.size());
@@ -84,6 +239,51 @@ public class MinecraftBridgeClient {
         } catch (StatusRuntimeException e) {
             logger.error("RPC failed during registration: {}", e.getStatus());
             throw e;
+        } finally {
+            endCall();
+        }
+    }
+
+    /**
+     * Send an incremental registration update to the gRPC server
+     * 
+     * @param proxyId      The proxy UUID
+     * @param addedNames   Server names registered since the last update
+     * @param removedNames Server names unregistered since the last update
+     * @return RegistrationResponse containing success status
+     * @throws IllegalArgumentException if proxyId is null or empty, or a list is
+     *                                  null
+     * @throws StatusRuntimeException   if the RPC fails
+     */
+    public RegistrationResponse updateProxyRegistration(final String proxyId, final List<String> addedNames,
+            final List<String> removedNames) {
+        if (addedNames == null || removedNames == null) {
+            throw new IllegalArgumentException("Server names list cannot be null");
+        }
+
+        final RequestTemplates requestTemplates = templates(proxyId);
+        final ProxyRegistrationUpdate.Builder request = ProxyRegistrationUpdate.newBuilder()
+                .setProxyIdBytes(requestTemplates.getProxyIdBytes())
+                .addAllAddedServers(requestTemplates.servers(addedNames))
+                .addAllRemovedServers(requestTemplates.servers(removedNames));
+        requestTemplates.forget(removedNames);
+
+        beginCall();
+        try {
+            final RegistrationResponse response = connection().blockingStub
+                    .updateProxyRegistration(request.build());
+            if (response.getSuccess()) {
+                logger.info("Updated proxy registration: {} server(s) added, {} removed",
+                        addedNames.size(), removedNames.size());
+            } else {
+                logger.warn("Proxy registration update was unsuccessful");
+            }
+            return response;
+        } catch (StatusRuntimeException e) {
+            logger.error("RPC failed during registration update: {}", e.getStatus());
+            throw e;
+        } finally {
+            endCall();
         }
     }
 
@@ -94,11 +294,26 @@ public class MinecraftBridgeClient {
         return registered;
     }
 
+    /**
+     * Get the number of unary RPCs issued since the client was created
+     */
+    public long getRpcCount() {
+        return rpcCount.sum();
+    }
+
+    /**
+     * Set the recorder receiving every event from the event stream
+     * 
+     * @param eventRecorder The recorder, or null to stop recording
+     */
+    public void setEventRecorder(final EventRecorder eventRecorder) {
+        this.eventRecorder = eventRecorder;
+    }
+
     /**
      * Check if a player has access to a server
      * 
-     * @param playerName The player's username
-     * @param playerIpv4 The player's IPv4 address
+     * @param playerId   The player's identifier (username + IPv4 or IPv6 address)
      * @param serverName The target server name
      * @param proxyId    The proxy UUID
      * @return PlayerAccessResponse containing access status and optional
@@ -106,61 +321,156 @@ public class MinecraftBridgeClient {
      * @throws IllegalArgumentException if any parameter is null or empty
      * @throws StatusRuntimeException   if the RPC fails
      */
-    public PlayerAccessResponse checkPlayerAccess(final String playerName, final String playerIpv4,
-            final String serverName, final String proxyId) {
-        if (playerName == null || playerName.trim().isEmpty()) {
+    public PlayerAccessResponse checkPlayerAccess(final PlayerIdentifier playerId, final String serverName,
+            final String proxyId) {
+        if (playerId == null || playerId.getUsername().isEmpty()) {
             throw new IllegalArgumentException("Player name cannot be null or empty");
         }
-        if (playerIpv4 == null || playerIpv4.trim().isEmpty()) {
-            throw new IllegalArgumentException("Player IPv4 cannot be null or empty");
-        }
-        if (serverName == null || serverName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Server name cannot be null or empty");
+        // The proxy ID and server name are validated once, when first cached
+        final RequestTemplates requestTemplates = templates(proxyId);
+        requestTemplates.server(serverName);
+
+        beginCall();
+        final InFlightCalls.Call tracked = inFlightChecks.start(playerId, serverName);
+        try {
+            return sendPlayerAccessCheck(playerId, serverName, requestTemplates);
+        } finally {
+            inFlightChecks.end(tracked);
+            endCall();
         }
-        if (proxyId == null || proxyId.trim().isEmpty()) {
-            throw new IllegalArgumentException("Proxy ID cannot be null or empty");
+    }
+
+    private PlayerAccessResponse sendPlayerAccessCheck(final PlayerIdentifier playerId, final String serverName,
+            final RequestTemplates requestTemplates) {
+        final AccessSessionClient session = getAccessSession(requestTemplates);
+        if (session != null) {
+            final CompletableFuture<PlayerAccessResponse> check = session.check(playerId, serverName);
+            try {
+                return check.get(ACCESS_SESSION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                check.cancel(false);
+                Thread.currentThread().interrupt();
+                throw Status.CANCELLED.withDescription("Interrupted while checking player access")
+                        .withCause(e).asRuntimeException();
+            } catch (ExecutionException | TimeoutException e) {
+                check.cancel(false);
+                logger.warn("Access session check failed for {}, retrying with a unary call: {}",
+                        playerId, e.getMessage());
+            }
         }
 
-        final PlayerAccessRequest request = PlayerAccessRequest.newBuilder()
-                .setPlayerName(playerName)
-                .setPlayerIpv4(playerIpv4)
-                .setServerName(serverName)
-                .setProxyId(proxyId)
-                .build();
+        final PlayerAccessRequest request = requestTemplates.accessRequest(playerId, serverName);
 
         try {
-            return blockingStub.checkPlayerAccess(request);
+            return connection().blockingStub.checkPlayerAccess(request);
         } catch (StatusRuntimeException e) {
-            logger.error("RPC failed while checking player access for {} ({}): {}",
-                    playerName, playerIpv4, e.getStatus());
+            logger.error("RPC failed while checking player access for {}: {}", playerId, e.getStatus());
             throw e;
         }
     }
 
     /**
-     * Shutdown the gRPC channel gracefully
+     * Get the access session for the proxy, opening it lazily
+     * 
+     * @return The session, or null if sessions are disabled or unsupported
+     */
+    private AccessSessionClient getAccessSession(final RequestTemplates requestTemplates) {
+        if (!accessSessionEnabled) {
+            return null;
+        }
+
+        final String proxyId = requestTemplates.getProxyId();
+        AccessSessionClient session = accessSession;
+        if (session == null || !session.getProxyId().equals(proxyId)) {
+            synchronized (this) {
+                session = accessSession;
+                if (session == null || !session.getProxyId().equals(proxyId)) {
+                    if (session != null) {
+                        session.shutdown();
+                    }
+                    session = new AccessSessionClient(MinecraftBridgeGrpc.newStub(connection().channel), logger,
+                            requestTemplates, accessBatchWindowMicros, accessBatchMaxSize);
+                    accessSession = session;
+                }
+            }
+        }
+        return session.isSupported() ? session : null;
+    }
+
+    /**
+     * Stop accepting new calls, stop the event stream and wait for in-flight
+     * calls to finish. Safe to call more than once.
+     * 
+     * @param timeout Maximum time to wait for in-flight calls
+     * @return true if every in-flight call finished in time
+     * @throws InterruptedException if the wait is interrupted
+     */
+    public boolean drain(final Duration timeout) throws InterruptedException {
+        draining = true;
+        registered = false;
+        eventStreamState = EventStreamState.CLOSED;
+
+        reconnectExecutor.shutdownNow();
+        final ClientCallStreamObserver<?> stream = eventStream;
+        if (stream != null) {
+            stream.cancel("Proxy shutting down", null);
+        }
+
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (drainLock) {
+            while (inFlight.get() > 0) {
+                final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    logger.warn("{} gRPC call(s) still in flight after draining for {} ms",
+                            inFlight.get(), timeout.toMillis());
+                    return false;
+                }
+                drainLock.wait(remainingMillis);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drain in-flight calls and close the gRPC channel
      * 
      * @throws InterruptedException if the shutdown is interrupted
      */
     public void shutdown() throws InterruptedException {
-        registered = false;
-        if (!channel.isShutdown()) {
+        if (!draining) {
+            drain(DEFAULT_DRAIN_TIMEOUT);
+        }
+
+        final AccessSessionClient session = accessSession;
+        if (session != null) {
+            session.shutdown();
+        }
+
+        // A channel still being built is closed once ready, so its event loop isn't leaked
+        final Connection ready = connection.exceptionally(error -> null).join();
+        final ManagedChannel channel = ready != null ? ready.channel : null;
+        if (channel != null && !channel.isShutdown()) {
             channel.shutdown();
-            if (!channel.awaitTermination(5, TimeUnit.SECONDS)) {
+            if (!channel.awaitTermination(CHANNEL_TERMINATION_MILLIS, TimeUnit.MILLISECONDS)) {
                 logger.warn("gRPC channel did not terminate gracefully, forcing shutdown");
                 channel.shutdownNow();
-                if (!channel.awaitTermination(2, TimeUnit.SECONDS)) {
+                if (!channel.awaitTermination(CHANNEL_TERMINATION_MILLIS, TimeUnit.MILLISECONDS)) {
                     logger.error("gRPC channel did not terminate after forced shutdown");
                 }
             }
         }
+        channelFactory.shutdown();
     }
 
     /**
-     * Check if the channel is shutdown
+     * Check if the client is shutting down or the channel is shutdown
      */
     public boolean isShutdown() {
-        return channel.isShutdown();
+        if (draining || connection.isCompletedExceptionally()) {
+            return true;
+        }
+        final Connection ready = connection.getNow(null);
+        return ready != null && ready.channel.isShutdown();
     }
 
     /**
@@ -198,28 +508,191 @@ public class MinecraftBridgeClient {
         final EventSubscription subscription = EventSubscription.newBuilder()
                 .setProxyId(proxyId)
                 .addEventTypes(EventType.PLAYER_UPDATE)
+                .addEventTypes(EventType.SERVER_ACCESS_REVOKED)
+                .addEventTypes(EventType.BULK_PLAYER_UPDATE)
                 .build();
 
-        final StreamObserver<ServerEvent> responseObserver = new StreamObserver<ServerEvent>() {
-            @Override
-            public void onNext(final ServerEvent event) {
-                try {
-                    // Invoke the callback with the received event
-                    eventCallback.accept(event);
-                } catch (Exception e) {
-                    logger.error("Error processing event: {}", e.getMessage(), e);
-                }
+        try {
+            // Open once the server answers with headers or a first event, not when the call is started
+            eventStreamState = EventStreamState.CONNECTING;
+            if (eventInterestFilter && !interestUnsupported) {
+                logger.info("Subscribing to events for this proxy's players...");
+                final EventStreamObserver<InterestUpdate> observer = new EventStreamObserver<>(proxyId,
+                        eventCallback, reconnectCallback, true);
+                interest.attach(connection().asyncStub
+                        .withInterceptors(new ResponseHeadersInterceptor(observer::opened))
+                        .subscribeInterestEvents(observer), subscription);
+            } else {
+                logger.info("Subscribing to events...");
+                final EventStreamObserver<EventSubscription> observer = new EventStreamObserver<>(proxyId,
+                        eventCallback, reconnectCallback, false);
+                connection().asyncStub
+                        .withInterceptors(new ResponseHeadersInterceptor(observer::opened))
+                        .subscribeEvents(subscription, observer);
+            }
+        } catch (StatusRuntimeException e) {
+            logger.error("Failed to subscribe to events: {}", e.getStatus());
+            throw e;
+        }
+    }
+
+    /**
+     * Get the access checks currently waiting for the gRPC server
+     */
+    public List<InFlightCalls.Call> getInFlightChecks() {
+        return inFlightChecks.snapshot();
+    }
+
+    public EventStreamState getEventStreamState() {
+        return eventStreamState;
+    }
+
+    /**
+     * Get the number of times the event stream was resubscribed after failing
+     */
+    public int getReconnectCount() {
+        return reconnectCount.get();
+    }
+
+    /**
+     * Get the time from the last event stream failure until it was resubscribed
+     */
+    public long getLastReconnectLagMillis() {
+        return lastReconnectLagMillis;
+    }
+
+    /**
+     * Get when the last event was received, or 0 if none was
+     */
+    public long getLastEventAt() {
+        return lastEventAt;
+    }
+
+    /**
+     * Get the set of players the event subscription is filtered to
+     */
+    public InterestSet getInterest() {
+        return interest;
+    }
+
+    public enum EventStreamState {
+        /** Not subscribed yet */
+        IDLE,
+        /** Subscribed, waiting for the server to accept the stream */
+        CONNECTING,
+        /** Receiving every event for this proxy */
+        OPEN,
+        /** Receiving events for the players online on this proxy */
+        OPEN_FILTERED,
+        /** Failed, resubscribing after a delay */
+        RECONNECTING,
+        /** Closed by the server or for shutdown */
+        CLOSED
+    }
+
+    /**
+     * Channel and the stubs bound to it
+     */
+    private static final class Connection {
+        private final ManagedChannel channel;
+        private final MinecraftBridgeGrpc.MinecraftBridgeBlockingStub blockingStub;
+        private final MinecraftBridgeGrpc.MinecraftBridgeStub asyncStub;
+
+        private Connection(final ManagedChannel channel,
+                final MinecraftBridgeGrpc.MinecraftBridgeBlockingStub blockingStub,
+                final MinecraftBridgeGrpc.MinecraftBridgeStub asyncStub) {
+            this.channel = channel;
+            this.blockingStub = blockingStub;
+            this.asyncStub = asyncStub;
+        }
+    }
+
+    /**
+     * Receives events from either subscription and resubscribes when the stream fails
+     */
+    private final class EventStreamObserver<ReqT> implements ClientResponseObserver<ReqT, ServerEvent> {
+        private final String proxyId;
+        private final Consumer<ServerEvent> eventCallback;
+        private final Runnable reconnectCallback;
+        private final boolean interestStream;
+        private volatile boolean open = false;
+
+        private EventStreamObserver(final String proxyId, final Consumer<ServerEvent> eventCallback,
+                final Runnable reconnectCallback, final boolean interestStream) {
+            this.proxyId = proxyId;
+            this.eventCallback = eventCallback;
+            this.reconnectCallback = reconnectCallback;
+            this.interestStream = interestStream;
+        }
+
+        @Override
+        public void beforeStart(final ClientCallStreamObserver<ReqT> requestStream) {
+            // Kept so shutdown can cancel the stream instead of waiting for it
+            eventStream = requestStream;
+        }
+
+        /**
+         * The server accepted the stream, called for its headers and every event
+         */
+        private void opened() {
+            if (!open) {
+                open = true;
+                eventStreamState = interestStream ? EventStreamState.OPEN_FILTERED : EventStreamState.OPEN;
+            }
+        }
+
+        @Override
+        public void onNext(final ServerEvent event) {
+            opened();
+            lastEventAt = System.currentTimeMillis();
+            final EventRecorder recorder = eventRecorder;
+            if (recorder != null) {
+                recorder.record(event);
+            }
+
+            try {
+                // Invoke the callback with the received event
+                eventCallback.accept(event);
+            } catch (Exception e) {
+                logger.error("Error processing event: {}", e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            if (interestStream) {
+                interest.detach();
+            }
+            if (draining) {
+                logger.debug("Event stream closed for shutdown");
+                return;
             }
+            eventStreamState = EventStreamState.RECONNECTING;
+            streamFailedAt = System.currentTimeMillis();
 
-            @Override
-            public void onError(final Throwable t) {
+            if (interestStream && Status.fromThrowable(t).getCode() == Status.Code.UNIMPLEMENTED) {
+                interestUnsupported = true;
+                logger.warn("gRPC server does not support interest-set subscriptions, "
+                        + "falling back to the unfiltered event stream");
+            } else {
                 logger.error("Error in event stream: {}", t.getMessage(), t);
+            }
 
-                // Attempt to reconnect after a delay
-                try {
-                    TimeUnit.SECONDS.sleep(5);
+            // Attempt to reconnect after a delay, without holding a gRPC thread
+            try {
+                reconnectExecutor.schedule(() -> {
+                    if (draining) {
+                        return;
+                    }
                     logger.info("Attempting to reconnect to event stream...");
-                    subscribeEvents(proxyId, eventCallback, reconnectCallback);
+                    try {
+                        subscribeEvents(proxyId, eventCallback, reconnectCallback);
+                    } catch (StatusRuntimeException e) {
+                        // Already logged by subscribeEvents
+                        return;
+                    }
+                    reconnectCount.incrementAndGet();
+                    lastReconnectLagMillis = System.currentTimeMillis() - streamFailedAt;
 
                     // Invoke reconnection callback if provided
                     if (reconnectCallback != null) {
@@ -230,24 +703,19 @@ public class MinecraftBridgeClient {
                             logger.error("Error in reconnection callback: {}", e.getMessage(), e);
                         }
                     }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.warn("Event stream reconnection interrupted");
-                }
+                }, EVENT_RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Event stream reconnection skipped, client is shutting down");
             }
+        }
 
-            @Override
-            public void onCompleted() {
-                logger.info("Event stream completed");
+        @Override
+        public void onCompleted() {
+            if (interestStream) {
+                interest.detach();
             }
-        };
-
-        try {
-            logger.info("Subscribing to events...");
-            asyncStub.subscribeEvents(subscription, responseObserver);
-        } catch (StatusRuntimeException e) {
-            logger.error("Failed to subscribe to events: {}", e.getStatus());
-            throw e;
+            eventStreamState = EventStreamState.CLOSED;
+            logger.info("Event stream completed");
         }
     }
 }
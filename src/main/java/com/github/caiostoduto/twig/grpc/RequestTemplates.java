@@ -0,0 +1,100 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.MinecraftServer;
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessRequest;
+
+/**
+ * Constant parts of outgoing requests, validated and UTF-8 encoded once per
+ * proxy ID. String fields set from a cached {@link ByteString} are written
+ * as-is, so an access check only encodes the player's own fields.
+ */
+final class RequestTemplates {
+    private final String proxyId;
+    private final ByteString proxyIdBytes;
+    // Interned server table, one entry per server name seen on this proxy
+    private final ConcurrentMap<String, MinecraftServer> servers = new ConcurrentHashMap<>();
+
+    RequestTemplates(final String proxyId) {
+        if (proxyId == null || proxyId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Proxy ID cannot be null or empty");
+        }
+        this.proxyId = proxyId;
+        this.proxyIdBytes = ByteString.copyFromUtf8(proxyId);
+    }
+
+    /**
+     * Check if these templates were built for the proxy ID. The ID comes from the
+     * same config snapshot on every call, so this is usually an identity check.
+     */
+    boolean isFor(final String proxyId) {
+        return this.proxyId.equals(proxyId);
+    }
+
+    String getProxyId() {
+        return proxyId;
+    }
+
+    ByteString getProxyIdBytes() {
+        return proxyIdBytes;
+    }
+
+    /**
+     * Get the server message for a name, building and validating it on first use
+     *
+     * @throws IllegalArgumentException if the name is null or empty
+     */
+    MinecraftServer server(final String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Server name cannot be null or empty");
+        }
+        final MinecraftServer cached = servers.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        if (name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Server name cannot be null or empty");
+        }
+        return servers.computeIfAbsent(name, key -> MinecraftServer.newBuilder()
+                .setNameBytes(ByteString.copyFromUtf8(key))
+                .build());
+    }
+
+    /**
+     * Get the encoded server name, see {@link #server(String)}
+     */
+    ByteString serverName(final String name) {
+        return server(name).getNameBytes();
+    }
+
+    List<MinecraftServer> servers(final List<String> names) {
+        return names.stream()
+                .map(this::server)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Drop servers that were unregistered from the proxy
+     */
+    void forget(final List<String> names) {
+        names.forEach(servers::remove);
+    }
+
+    PlayerAccessRequest accessRequest(final PlayerIdentifier playerId, final String serverName) {
+        return PlayerAccessRequest.newBuilder()
+                .setPlayerName(playerId.getUsername())
+                .setPlayerIpv4(playerId.getIpAddress())
+                .setPlayerAddress(UnsafeByteOperations.unsafeWrap(playerId.getAddressBytes()))
+                .setServerNameBytes(serverName(serverName))
+                .setProxyIdBytes(proxyIdBytes)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.caiostoduto.twig.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+
+/**
+ * Runs a callback when the server sends the response headers of a call, which
+ * is when it accepted the call, possibly long before its first message.
+ */
+final class ResponseHeadersInterceptor implements ClientInterceptor {
+    private final Runnable onHeaders;
+
+    ResponseHeadersInterceptor(final Runnable onHeaders) {
+        this.onHeaders = onHeaders;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(final MethodDescriptor<ReqT, RespT> method,
+            final CallOptions callOptions, final Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(final Listener<RespT> responseListener, final Metadata headers) {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                        responseListener) {
+                    @Override
+                    public void onHeaders(final Metadata responseHeaders) {
+                        onHeaders.run();
+                        super.onHeaders(responseHeaders);
+                    }
+                }, headers);
+            }
+        };
+    }
+}
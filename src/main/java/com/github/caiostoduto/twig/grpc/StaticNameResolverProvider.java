@@ -0,0 +1,179 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import io.grpc.Attributes;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.NameResolver;
+import io.grpc.NameResolverProvider;
+import io.grpc.Status;
+
+/**
+ * Name resolver returning a fixed list of Twig bot endpoints, so the channel
+ * can load balance across several replicas configured in config.yml.
+ */
+public class StaticNameResolverProvider extends NameResolverProvider {
+    public static final String SCHEME = "twig-static";
+    private static final String AUTHORITY = "twig";
+
+    private final List<String> endpoints;
+
+    /**
+     * @param endpoints Endpoints in {@code host:port} or {@code [ipv6]:port} form
+     * @throws IllegalArgumentException if an endpoint is malformed
+     */
+    public StaticNameResolverProvider(final List<String> endpoints) {
+        if (endpoints == null || endpoints.isEmpty()) {
+            throw new IllegalArgumentException("Endpoint list cannot be null or empty");
+        }
+        for (String endpoint : endpoints) {
+            parse(endpoint, false);
+        }
+        this.endpoints = List.copyOf(endpoints);
+    }
+
+    /**
+     * Target to pass to the channel builder
+     */
+    public String getTarget() {
+        return SCHEME + ":///" + AUTHORITY;
+    }
+
+    @Override
+    public NameResolver newNameResolver(final URI targetUri, final NameResolver.Args args) {
+        if (!SCHEME.equals(targetUri.getScheme())) {
+            return null;
+        }
+
+        return new NameResolver() {
+            // Only touched on the channel's synchronization context
+            private Listener2 listener;
+            private boolean resolving;
+
+            @Override
+            public String getServiceAuthority() {
+                return AUTHORITY;
+            }
+
+            @Override
+            public void start(final Listener2 listener) {
+                this.listener = listener;
+                resolve();
+            }
+
+            @Override
+            public void refresh() {
+                // Invoked by the load balancer after connection failures, re-resolves host names
+                if (listener != null) {
+                    resolve();
+                }
+            }
+
+            @Override
+            public void shutdown() {
+                listener = null;
+            }
+
+            /**
+             * Look the host names up on the offload executor, DNS may block and the
+             * synchronization context is shared with the rest of the channel
+             */
+            private void resolve() {
+                if (resolving) {
+                    return;
+                }
+                resolving = true;
+
+                final Runnable lookup = () -> {
+                    final List<EquivalentAddressGroup> addresses = lookUp();
+                    args.getSynchronizationContext().execute(() -> publish(addresses));
+                };
+                final Executor offloadExecutor = args.getOffloadExecutor();
+                if (offloadExecutor != null) {
+                    offloadExecutor.execute(lookup);
+                } else {
+                    // Channels always provide one, this only covers resolvers built by hand
+                    lookup.run();
+                }
+            }
+
+            private void publish(final List<EquivalentAddressGroup> addresses) {
+                resolving = false;
+                if (listener == null) {
+                    return;
+                }
+
+                if (addresses.isEmpty()) {
+                    listener.onError(Status.UNAVAILABLE.withDescription("No Twig endpoint could be resolved"));
+                    return;
+                }
+
+                listener.onResult(ResolutionResult.newBuilder()
+                        .setAddresses(addresses)
+                        .setAttributes(Attributes.EMPTY)
+                        .build());
+            }
+        };
+    }
+
+    /**
+     * Resolve every endpoint, skipping those whose host name is unknown
+     */
+    private List<EquivalentAddressGroup> lookUp() {
+        final List<EquivalentAddressGroup> addresses = new ArrayList<>(endpoints.size());
+        for (String endpoint : endpoints) {
+            final InetSocketAddress address = parse(endpoint, true);
+            if (address.isUnresolved()) {
+                continue;
+            }
+            addresses.add(new EquivalentAddressGroup(address));
+        }
+        return addresses;
+    }
+
+    @Override
+    public String getDefaultScheme() {
+        return SCHEME;
+    }
+
+    @Override
+    protected boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    protected int priority() {
+        return 5;
+    }
+
+    /**
+     * Parse a {@code host:port} endpoint, optionally resolving the host name
+     */
+    private static InetSocketAddress parse(final String endpoint, final boolean resolve) {
+        final int separator = endpoint == null ? -1 : endpoint.lastIndexOf(':');
+        if (separator <= 0 || separator == endpoint.length() - 1) {
+            throw new IllegalArgumentException("Invalid gRPC endpoint `" + endpoint + "`, expected host:port");
+        }
+
+        String host = endpoint.substring(0, separator);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+
+        final int port;
+        try {
+            port = Integer.parseInt(endpoint.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port in gRPC endpoint `" + endpoint + "`", e);
+        }
+        if (port <= 0 || port > 65535) {
+            throw new IllegalArgumentException("gRPC port must be between 1 and 65535 in `" + endpoint + "`");
+        }
+
+        return resolve ? new InetSocketAddress(host, port) : InetSocketAddress.createUnresolved(host, port);
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Virtual thread support for {@link BridgeExecutor}. This is the Java 17
+ * version, which has none; on Java 21+ the multi-release jar loads the
+ * version from {@code src/main/java21} instead.
+ */
+final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return An executor starting a virtual thread per task, or null if the
+     *         runtime has no virtual threads
+     */
+    static ExecutorService newExecutor(final String namePrefix) {
+        return null;
+    }
+}
@@ -1,179 +1,234 @@
 package com.github.caiostoduto.twig.listeners;
 
-import java.net.InetSocketAddress;
-import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 
+import com.github.caiostoduto.twig.auth.AccessChecker;
+import com.github.caiostoduto.twig.auth.AccessDecision;
 import com.github.caiostoduto.twig.auth.AuthenticationEntry;
 import com.github.caiostoduto.twig.auth.PlayerIdentifier;
 import com.github.caiostoduto.twig.config.ConfigManager;
-import com.github.caiostoduto.twig.grpc.MinecraftBridgeClient;
+import com.github.caiostoduto.twig.diag.JoinTiming;
+import com.github.caiostoduto.twig.diag.RingBuffer;
+import com.github.caiostoduto.twig.logging.HotPathLogger;
+import com.github.caiostoduto.twig.logging.LogCategory;
+import com.github.caiostoduto.twig.player.ConnectedPlayer;
+import com.github.caiostoduto.twig.player.LimboMembership;
+import com.github.caiostoduto.twig.player.PlayerRegistry;
+import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.player.PlayerChooseInitialServerEvent;
 import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.event.player.ServerPreConnectEvent.ServerResult;
 import com.velocitypowered.api.proxy.Player;
-import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 
 import minecraft_bridge.MinecraftBridgeOuterClass.AccessStatus;
 import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
-import net.kyori.adventure.text.Component;
 
 public class AuthenticationLoginHandler {
-    private static final String CONFIG_TWIG_UUID = "twig_uuid";
-    private static final String CONFIG_PROXY_LIMBO = "proxy_limbo";
-    private static final String CONFIG_NOT_ALLOWED_MESSAGE = "not_allowed_message";
-    private static final String DEFAULT_NOT_ALLOWED_MESSAGE = "You are not whitelisted on this server!";
-
     private final Logger logger;
-    private final ProxyServer proxyServer;
+    private final HotPathLogger hotLog;
     private final ConfigManager configManager;
-    private final MinecraftBridgeClient grpcClient;
-    private final Map<PlayerIdentifier, AuthenticationEntry> authQueue;
+    private final AccessChecker accessChecker;
+    private final PlayerRegistry players;
+    private final LimboMembership limbo;
+    private final RingBuffer<JoinTiming> joinTimings;
 
-    public AuthenticationLoginHandler(final Logger logger, final ProxyServer proxyServer,
-            final ConfigManager configManager, final MinecraftBridgeClient grpcClient,
-            final Map<PlayerIdentifier, AuthenticationEntry> authQueue) {
+    /**
+     * @param joinTimings Receives the timing of every checked join, for /twig diag
+     */
+    public AuthenticationLoginHandler(final Logger logger, final HotPathLogger hotLog,
+            final ConfigManager configManager, final AccessChecker accessChecker, final PlayerRegistry players,
+            final LimboMembership limbo, final RingBuffer<JoinTiming> joinTimings) {
         this.logger = logger;
-        this.proxyServer = proxyServer;
+        this.hotLog = hotLog;
         this.configManager = configManager;
-        this.grpcClient = grpcClient;
-        this.authQueue = authQueue;
+        this.accessChecker = accessChecker;
+        this.players = players;
+        this.limbo = limbo;
+        this.joinTimings = joinTimings;
     }
 
     @Subscribe
-    public void onPlayerChooseInitialServer(PlayerChooseInitialServerEvent event) {
-        final String username = event.getPlayer().getUsername();
-        final InetSocketAddress remoteAddress = event.getPlayer().getRemoteAddress();
-        final String playerIpv4 = remoteAddress.getAddress().getHostAddress();
+    public EventTask onPlayerChooseInitialServer(PlayerChooseInitialServerEvent event) {
+        final long startNanos = System.nanoTime();
+        final ConnectedPlayer connected = players.get(event.getPlayer());
         final String targetServer = event.getInitialServer().get().getServerInfo().getName();
-        final String proxyUuid = configManager.getString(CONFIG_TWIG_UUID);
-
-        logger.info("{} ({}) is trying to join to server `{}`.", username, remoteAddress, targetServer);
-
-        // Check player access via gRPC
-        final PlayerAccessResponse response;
-        try {
-            response = grpcClient.checkPlayerAccess(username, playerIpv4, targetServer, proxyUuid);
-        } catch (Exception e) {
-            logger.error("Failed to check player access for {} ({}): {}", username, playerIpv4, e.getMessage());
-            disconnectPlayerWithMessage(event.getPlayer());
-            return;
-        }
 
-        handleAccessResponse(response, event.getPlayer(), username, remoteAddress, targetServer,
-                (limboServer, authUrl) -> {
-                    authQueue.put(new PlayerIdentifier(event.getPlayer()),
-                            new AuthenticationEntry(authUrl, targetServer));
+        hotLog.info(LogCategory.LOGIN, "join player={} server={}", connected, targetServer);
+
+        return checkAccess(connected, targetServer, startNanos, response -> handleAccessResponse(response, connected,
+                targetServer, (limboServer, authUrl) -> {
+                    connected.setAuthEntry(new AuthenticationEntry(authUrl, targetServer));
                     event.setInitialServer(limboServer);
-                });
+                }));
     }
 
     @Subscribe
-    public void onServerPreConnect(ServerPreConnectEvent event) {
-        final String username = event.getPlayer().getUsername();
-        final InetSocketAddress remoteAddress = event.getPlayer().getRemoteAddress();
-        final String playerIpv4 = remoteAddress.getAddress().getHostAddress();
+    public EventTask onServerPreConnect(ServerPreConnectEvent event) {
+        final long startNanos = System.nanoTime();
+        final ConnectedPlayer connected = players.get(event.getPlayer());
         final String targetServer = event.getOriginalServer().getServerInfo().getName();
-        final String proxyUuid = configManager.getString(CONFIG_TWIG_UUID);
 
-        logger.info("{} ({}) is trying to join to server `{}`.", username, remoteAddress, targetServer);
+        hotLog.info(LogCategory.LOGIN, "join player={} server={}", connected, targetServer);
 
-        if (targetServer.equals(configManager.getString(CONFIG_PROXY_LIMBO))) {
+        if (configManager.getSnapshot().isLimboServer(targetServer)) {
             // Allow joining limbo server without checks
-            return;
-        }
-
-        // Check player access via gRPC
-        final PlayerAccessResponse response;
-        try {
-            response = grpcClient.checkPlayerAccess(username, playerIpv4, targetServer, proxyUuid);
-        } catch (Exception e) {
-            logger.error("Failed to check player access for {} ({}): {}", username, playerIpv4, e.getMessage());
-            disconnectPlayerWithMessage(event.getPlayer());
-            return;
+            return null;
         }
 
-        handleAccessResponse(response, event.getPlayer(), username, remoteAddress, targetServer,
-                (limboServer, authUrl) -> {
-                    authQueue.put(new PlayerIdentifier(event.getPlayer()),
-                            new AuthenticationEntry(authUrl, targetServer));
-                    event.setResult(ServerResult.allowed(limboServer));
-                });
+        return checkAccess(connected, targetServer, startNanos, response -> {
+            handleAccessResponse(response, connected, targetServer,
+                    (limboServer, authUrl) -> {
+                        connected.setAuthEntry(new AuthenticationEntry(authUrl, targetServer));
+                        event.setResult(ServerResult.allowed(limboServer));
+                    });
 
-        if (response.getStatus() == AccessStatus.PROHIBITED) {
-            event.setResult(ServerResult.denied());
-        }
+            if (response.getStatus() == AccessStatus.PROHIBITED) {
+                event.setResult(ServerResult.denied());
+            }
+        });
     }
 
     @Subscribe
     public void onDisconnect(final DisconnectEvent event) {
-        final PlayerIdentifier playerId = new PlayerIdentifier(event.getPlayer());
-        final AuthenticationEntry authEntry = authQueue.remove(playerId);
+        final ConnectedPlayer connected = players.get(event.getPlayer());
+        final AuthenticationEntry authEntry = connected.clearAuthEntry();
 
         if (authEntry != null) {
-            logger.info("Cancelling authentication task for {} ({}) on disconnect.",
-                    event.getPlayer().getUsername(), event.getPlayer().getRemoteAddress());
-            authEntry.cancelTask();
+            hotLog.info(LogCategory.LIMBO, "auth_cancelled player={} reason=disconnect", connected);
         }
     }
 
+    /**
+     * Checks player access, applying decisions cached locally on the event
+     * thread. A shared store is read, and a miss checked with the gRPC server,
+     * on the bridge executor while the event waits; the RPC is shared with any
+     * other check for the same player and server. Regulars with a recently
+     * expired ALLOWED decision don't wait for the RPC, it is revalidated in
+     * the background instead.
+     *
+     * @return The task the event waits for, or null if the decision was cached
+     */
+    private EventTask checkAccess(final ConnectedPlayer connected, final String targetServer,
+            final long startNanos, final Consumer<PlayerAccessResponse> onResponse) {
+        final PlayerIdentifier playerId = connected.getId();
+        final CompletableFuture<AccessDecision> check = accessChecker.checkJoin(playerId, targetServer);
+        final long lookedUpNanos = System.nanoTime();
+        final CompletableFuture<Void> applied = check.handle((decision, error) -> {
+            final long respondedNanos = System.nanoTime();
+            final String outcome;
+            if (error != null) {
+                final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                logger.error("Failed to check player access for {}: {}", playerId, cause.getMessage());
+                disconnectPlayerWithMessage(connected.getPlayer());
+                outcome = "ERROR";
+            } else if (decision.isStale()) {
+                revalidateStale(connected, targetServer);
+                outcome = "STALE";
+            } else {
+                connected.markVerified();
+                onResponse.accept(decision.getResponse());
+                outcome = decision.getResponse().getStatus().name();
+            }
+
+            joinTimings.add(new JoinTiming(playerId, targetServer, outcome, lookedUpNanos - startNanos,
+                    respondedNanos - lookedUpNanos, System.nanoTime() - respondedNanos));
+            return null;
+        });
+        return applied.isDone() ? null : EventTask.resumeWhenComplete(applied);
+    }
+
+    /**
+     * Revalidates the stale ALLOWED decision a player joined on. If they lost
+     * access meanwhile, the fresh decision is applied like a join check's, as
+     * long as the player is still on, or on their way to, the server they were
+     * admitted to.
+     */
+    private void revalidateStale(final ConnectedPlayer connected, final String targetServer) {
+        final PlayerIdentifier playerId = connected.getId();
+        hotLog.info(LogCategory.LOGIN, "join_stale player={} server={}", connected, targetServer);
+        final String admittedFrom = connected.getCurrentServer();
+        accessChecker.revalidate(playerId, targetServer).whenComplete((response, error) -> {
+            if (error != null) {
+                // Keep the stale decision, the background verifier retries later
+                logger.warn("Failed to revalidate access for {} on server `{}`: {}",
+                        playerId, targetServer, error.getMessage());
+                return;
+            }
+
+            connected.markVerified();
+            final Player player = connected.getPlayer();
+            final String currentServer = connected.getCurrentServer();
+            if (!player.isActive()
+                    || !(targetServer.equals(currentServer) || Objects.equals(admittedFrom, currentServer))) {
+                // Moved on since, that join was checked on its own
+                return;
+            }
+
+            handleAccessResponse(response, connected, targetServer, (limboServer, authUrl) -> {
+                connected.setAuthEntry(new AuthenticationEntry(authUrl, targetServer));
+                player.createConnectionRequest(limboServer).connect().whenComplete((result, failure) -> {
+                    if (failure != null || !result.isSuccessful()) {
+                        logger.warn("Failed to move {} to limbo server `{}` after revalidation",
+                                connected, limboServer.getServerInfo().getName());
+                        disconnectPlayerWithMessage(player);
+                    }
+                });
+            });
+        });
+    }
+
     /**
      * Disconnects a player with the configured "not allowed" message.
      */
     private void disconnectPlayerWithMessage(final Player player) {
-        final Component component = Component
-                .text(configManager.getString(CONFIG_NOT_ALLOWED_MESSAGE, DEFAULT_NOT_ALLOWED_MESSAGE));
-        player.disconnect(component);
+        player.disconnect(configManager.getSnapshot().getNotAllowedComponent());
     }
 
     /**
      * Handles the access response from the gRPC server.
      * 
      * @param response         The access response
-     * @param player           The player attempting to connect
-     * @param username         The player's username
-     * @param remoteAddress    The player's remote address
+     * @param connected        The player attempting to connect
      * @param targetServer     The target server name
      * @param onSignupRequired Callback to execute when signup is required
      */
-    private void handleAccessResponse(final PlayerAccessResponse response, final Player player,
-            final String username, final InetSocketAddress remoteAddress, final String targetServer,
-            final SignupHandler onSignupRequired) {
+    private void handleAccessResponse(final PlayerAccessResponse response, final ConnectedPlayer connected,
+            final String targetServer, final SignupHandler onSignupRequired) {
         final AccessStatus status = response.getStatus();
 
         if (status == AccessStatus.REQUIRES_SIGNUP) {
-            final String limboServerName = configManager.getString(CONFIG_PROXY_LIMBO);
-            final Optional<RegisteredServer> limboServer = proxyServer.getServer(limboServerName);
-
-            if (limboServer.isEmpty()) {
-                logger.warn("{} ({}) was denied access because the limbo server `{}` does not exist.",
-                        username, remoteAddress, limboServerName);
-                disconnectPlayerWithMessage(player);
+            // Ensure authentication URL is present
+            if (!response.hasAuthenticationUrl()) {
+                logger.error("gRPC response for {} requires signup but has no authentication URL.", connected);
+                disconnectPlayerWithMessage(connected.getPlayer());
                 return;
             }
 
-            // Ensure authentication URL is present
-            if (!response.hasAuthenticationUrl()) {
-                logger.error("gRPC response for {} ({}) requires signup but has no authentication URL.",
-                        username, remoteAddress);
-                disconnectPlayerWithMessage(player);
+            // Spread players across the limbo servers, least loaded first
+            final RegisteredServer limboServer = limbo.place(connected.getPlayer());
+            if (limboServer == null) {
+                logger.warn("{} was denied access because no limbo server is registered.", connected);
+                disconnectPlayerWithMessage(connected.getPlayer());
                 return;
             }
 
             final String authUrl = response.getAuthenticationUrl();
-            logger.info("{} ({}) was redirected to limbo server `{}` because they need to authenticate (status: {}).",
-                    username, remoteAddress, limboServerName, status);
+            hotLog.info(LogCategory.LOGIN, "limbo player={} server={} status={}",
+                    connected, limboServer.getServerInfo().getName(), status);
 
-            onSignupRequired.handle(limboServer.get(), authUrl);
+            onSignupRequired.handle(limboServer, authUrl);
         } else if (status == AccessStatus.PROHIBITED) {
-            logger.warn("{} ({}) was denied access to server `{}` because they are prohibited.",
-                    username, remoteAddress, targetServer);
-            disconnectPlayerWithMessage(player);
+            hotLog.warn(LogCategory.ACCESS_DENIED, "denied player={} server={} status={}",
+                    connected, targetServer, status);
+            disconnectPlayerWithMessage(connected.getPlayer());
         }
     }
 
@@ -0,0 +1,50 @@
+package com.github.caiostoduto.twig.listeners;
+
+import java.util.concurrent.Executor;
+
+import com.github.caiostoduto.twig.auth.AccessChecker;
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.github.caiostoduto.twig.grpc.InterestSet;
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.PostLoginEvent;
+
+/**
+ * Keeps the event subscription's interest set in sync with the players online
+ * on this proxy. Once a player leaves the set their events are no longer
+ * delivered, so their cached decisions are dropped with it.
+ */
+public class EventInterestHandler {
+    private final InterestSet interest;
+    private final AccessChecker accessChecker;
+    private final boolean filtered;
+    private final Executor bridgeExecutor;
+
+    /**
+     * @param filtered       Whether the event subscription is filtered by the interest set
+     * @param bridgeExecutor Drops cached decisions off the event thread, the store may be remote
+     */
+    public EventInterestHandler(final InterestSet interest, final AccessChecker accessChecker,
+            final boolean filtered, final Executor bridgeExecutor) {
+        this.interest = interest;
+        this.accessChecker = accessChecker;
+        this.filtered = filtered;
+        this.bridgeExecutor = bridgeExecutor;
+    }
+
+    @Subscribe(order = PostOrder.LAST)
+    public void onPostLogin(final PostLoginEvent event) {
+        interest.add(new PlayerIdentifier(event.getPlayer()));
+    }
+
+    @Subscribe(order = PostOrder.LAST)
+    public void onDisconnect(final DisconnectEvent event) {
+        final PlayerIdentifier playerId = new PlayerIdentifier(event.getPlayer());
+        interest.remove(playerId);
+        if (filtered) {
+            // Nothing would invalidate them until the player rejoins
+            bridgeExecutor.execute(() -> accessChecker.invalidate(playerId));
+        }
+    }
+}
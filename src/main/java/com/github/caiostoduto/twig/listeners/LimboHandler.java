@@ -1,15 +1,16 @@
 package com.github.caiostoduto.twig.listeners;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.Optional;
 
 import org.slf4j.Logger;
 
 import com.github.caiostoduto.twig.Twig;
 import com.github.caiostoduto.twig.auth.AuthenticationEntry;
-import com.github.caiostoduto.twig.auth.PlayerIdentifier;
 import com.github.caiostoduto.twig.config.ConfigManager;
+import com.github.caiostoduto.twig.logging.HotPathLogger;
+import com.github.caiostoduto.twig.logging.LogCategory;
+import com.github.caiostoduto.twig.player.LimboMembership;
+import com.github.caiostoduto.twig.player.PlayerRegistry;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.command.CommandExecuteEvent;
 import com.velocitypowered.api.event.command.PlayerAvailableCommandsEvent;
@@ -17,7 +18,6 @@ import com.velocitypowered.api.event.player.KickedFromServerEvent;
 import com.velocitypowered.api.event.player.ServerConnectedEvent;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
-import com.velocitypowered.api.proxy.ServerConnection;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 
 import net.kyori.adventure.text.Component;
@@ -32,18 +32,23 @@ public class LimboHandler {
     private static final int AUTH_LINK_COLOR = 0x5965F6;
 
     private final Logger logger;
+    private final HotPathLogger hotLog;
     private final ProxyServer proxyServer;
     private final ConfigManager configManager;
-    private final Map<PlayerIdentifier, AuthenticationEntry> authQueue;
+    private final PlayerRegistry players;
+    private final LimboMembership limbo;
     private final Twig plugin;
 
-    public LimboHandler(final Twig plugin, final Logger logger, final ProxyServer proxyServer,
-            final ConfigManager configManager, final Map<PlayerIdentifier, AuthenticationEntry> authQueue) {
+    public LimboHandler(final Twig plugin, final Logger logger, final HotPathLogger hotLog,
+            final ProxyServer proxyServer, final ConfigManager configManager, final PlayerRegistry players,
+            final LimboMembership limbo) {
         this.plugin = plugin;
         this.logger = logger;
+        this.hotLog = hotLog;
         this.proxyServer = proxyServer;
         this.configManager = configManager;
-        this.authQueue = authQueue;
+        this.players = players;
+        this.limbo = limbo;
     }
 
     @Subscribe
@@ -53,43 +58,31 @@ public class LimboHandler {
         }
 
         final Player player = (Player) event.getCommandSource();
-        final Optional<ServerConnection> currentServer = player.getCurrentServer();
-
-        if (currentServer.isEmpty()) {
-            return;
-        }
-
-        if (isPlayerOnLimboServer(currentServer.get())) {
+        if (limbo.contains(player)) {
             event.setResult(CommandExecuteEvent.CommandResult.denied());
-            logger.info("{} ({}) command execution `{}` was denied because they are on the limbo server.",
-                    player.getUsername(), player.getRemoteAddress(), event.getCommand());
+            hotLog.info(LogCategory.LIMBO, "limbo_command_denied player={} command={}",
+                    player.getUsername(), event.getCommand());
         }
     }
 
     @Subscribe
     public void onPlayerAvailableCommands(final PlayerAvailableCommandsEvent event) {
-        final Player player = event.getPlayer();
-        final Optional<ServerConnection> currentServer = player.getCurrentServer();
-
-        if (currentServer.isEmpty()) {
-            return;
-        }
-
-        if (isPlayerOnLimboServer(currentServer.get())) {
-            logger.info("{} ({}) had their available commands cleared because they are on the limbo server.",
-                    player.getUsername(), player.getRemoteAddress());
+        if (limbo.contains(event.getPlayer())) {
+            // Runs on every command tree refresh, only counted
+            hotLog.count(LogCategory.LIMBO);
+            // The event owns the root node, so it is emptied rather than replaced
             event.getRootNode().getChildren().clear();
         }
     }
 
     @Subscribe
     public void onServerConnected(final ServerConnectedEvent event) {
-        if (!isPlayerOnLimboServer(event.getServer())) {
+        final Player player = event.getPlayer();
+        if (!limbo.contains(player)) {
             return;
         }
 
-        final Player player = event.getPlayer();
-        final AuthenticationEntry authEntry = authQueue.get(new PlayerIdentifier(player));
+        final AuthenticationEntry authEntry = players.get(player).getAuthEntry();
 
         if (authEntry == null) {
             logger.warn("{} ({}) connected to limbo server but no authentication entry was found.",
@@ -112,23 +105,10 @@ public class LimboHandler {
                     player.getUsername(), player.getRemoteAddress(),
                     registeredServer.getServerInfo().getName());
 
-            final Component message = Component
-                    .text(configManager.getString("not_allowed_message", "You are not whitelisted on this server!"));
-            player.disconnect(message);
+            player.disconnect(configManager.getSnapshot().getNotAllowedComponent());
         }
     }
 
-    /**
-     * Checks if the player is currently on the limbo server.
-     *
-     * @param server the server connection to check
-     * @return true if the server is the limbo server, false otherwise
-     */
-    private boolean isPlayerOnLimboServer(final ServerConnection server) {
-        final String limboServerName = configManager.getString("proxy_limbo");
-        return server.getServerInfo().getName().equals(limboServerName);
-    }
-
     /**
      * Checks if the given server is the limbo server.
      *
@@ -136,8 +116,7 @@ public class LimboHandler {
      * @return true if the server is the limbo server, false otherwise
      */
     private boolean isPlayerOnLimboServer(final RegisteredServer server) {
-        final String limboServerName = configManager.getString("proxy_limbo");
-        return server.getServerInfo().getName().equals(limboServerName);
+        return configManager.getSnapshot().isLimboServer(server.getServerInfo().getName());
     }
 
     /**
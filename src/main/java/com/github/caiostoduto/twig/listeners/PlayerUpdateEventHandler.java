@@ -1,242 +1,357 @@
 package com.github.caiostoduto.twig.listeners;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 
+import com.github.caiostoduto.twig.auth.AccessChecker;
 import com.github.caiostoduto.twig.auth.AuthenticationEntry;
 import com.github.caiostoduto.twig.auth.PlayerIdentifier;
 import com.github.caiostoduto.twig.config.ConfigManager;
-import com.github.caiostoduto.twig.grpc.MinecraftBridgeClient;
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.github.caiostoduto.twig.grpc.BridgeExecutor;
+import com.github.caiostoduto.twig.logging.HotPathLogger;
+import com.github.caiostoduto.twig.logging.LogCategory;
+import com.github.caiostoduto.twig.player.ConnectedPlayer;
+import com.github.caiostoduto.twig.player.PlayerRegistry;
+import com.github.caiostoduto.twig.player.ReleaseScheduler;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ProxyServer;
-import com.velocitypowered.api.proxy.ServerConnection;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 
 import minecraft_bridge.MinecraftBridgeOuterClass.AccessStatus;
+import minecraft_bridge.MinecraftBridgeOuterClass.BulkPlayerUpdateEvent;
 import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
 import minecraft_bridge.MinecraftBridgeOuterClass.PlayerUpdateEvent;
+import minecraft_bridge.MinecraftBridgeOuterClass.ServerAccessRevokedEvent;
 import minecraft_bridge.MinecraftBridgeOuterClass.ServerEvent;
-import net.kyori.adventure.text.Component;
 
 public class PlayerUpdateEventHandler {
-    private static final String CONFIG_KEY_LIMBO_SERVER = "proxy_limbo";
-    private static final String CONFIG_KEY_PROXY_UUID = "twig_uuid";
-    private static final String CONFIG_KEY_NOT_ALLOWED_MESSAGE = "not_allowed_message";
-    private static final String DEFAULT_NOT_ALLOWED_MESSAGE = "You are not whitelisted on this server!";
+    // Players handled per scheduler task when an event affects many players
+    private static final int BULK_BATCH_SIZE = 32;
 
     private final Logger logger;
+    private final HotPathLogger hotLog;
     private final ProxyServer proxyServer;
     private final ConfigManager configManager;
-    private final MinecraftBridgeClient grpcClient;
-    private final Map<PlayerIdentifier, AuthenticationEntry> authQueue;
-
-    public PlayerUpdateEventHandler(final Logger logger, final ProxyServer proxyServer,
-            final ConfigManager configManager, final MinecraftBridgeClient grpcClient,
-            final Map<PlayerIdentifier, AuthenticationEntry> authQueue) {
+    private final AccessChecker accessChecker;
+    private final PlayerRegistry players;
+    private final ReleaseScheduler releaseScheduler;
+    private final BridgeExecutor bridgeExecutor;
+
+    public PlayerUpdateEventHandler(final Logger logger, final HotPathLogger hotLog, final ProxyServer proxyServer,
+            final ConfigManager configManager, final AccessChecker accessChecker, final PlayerRegistry players,
+            final ReleaseScheduler releaseScheduler, final BridgeExecutor bridgeExecutor) {
         this.logger = logger;
+        this.hotLog = hotLog;
         this.proxyServer = proxyServer;
         this.configManager = configManager;
-        this.grpcClient = grpcClient;
-        this.authQueue = authQueue;
+        this.accessChecker = accessChecker;
+        this.players = players;
+        this.releaseScheduler = releaseScheduler;
+        this.bridgeExecutor = bridgeExecutor;
     }
 
     /**
-     * Handle player_update events from the gRPC server
-     * 
-     * @param event The ServerEvent containing the player_update data
+     * Handle events from the gRPC server
+     *
+     * @param event The ServerEvent containing the event data
      */
     public void handleEvent(final ServerEvent event) {
-        if (!event.hasPlayerUpdate()) {
+        switch (event.getEventDataCase()) {
+            case PLAYER_UPDATE:
+                handlePlayerUpdate(event.getPlayerUpdate());
+                break;
+            case SERVER_ACCESS_REVOKED:
+                handleServerAccessRevoked(event.getServerAccessRevoked());
+                break;
+            case BULK_PLAYER_UPDATE:
+                handleBulkPlayerUpdate(event.getBulkPlayerUpdate());
+                break;
+            default:
+                logger.debug("Ignoring event without data (type: {})", event.getEventType());
+                break;
+        }
+    }
+
+    /**
+     * Handle a single player_update: re-check the player's access where they are
+     */
+    private void handlePlayerUpdate(final PlayerUpdateEvent playerUpdate) {
+        final PlayerIdentifier playerId;
+        try {
+            playerId = toPlayerIdentifier(playerUpdate);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring player_update event with invalid player address: {}", e.getMessage());
             return;
         }
 
-        final PlayerUpdateEvent playerUpdate = event.getPlayerUpdate();
-        final String playerName = playerUpdate.getPlayerName();
-        final String playerIpv4 = playerUpdate.getPlayerIpv4();
+        hotLog.info(LogCategory.PLAYER_EVENT, "player_update player={}", playerId);
 
-        logger.info("Received player_update event for {} ({})", playerName, playerIpv4);
+        // The player's access changed, cached decisions are no longer valid
+        accessChecker.invalidate(playerId);
 
-        Player player = validateAndGetPlayer(playerName, playerIpv4);
-        if (player == null) {
+        final ConnectedPlayer connected = players.find(playerId);
+        if (connected == null) {
+            hotLog.warn(LogCategory.PLAYER_EVENT, "player_update player={} result=not_connected", playerId);
             return;
         }
 
-        String currentServerName = getCurrentServerName(player, playerName, playerIpv4);
+        final String currentServerName = getCurrentServerName(connected);
         if (currentServerName == null) {
             return;
         }
 
-        String limboServerName = configManager.getString(CONFIG_KEY_LIMBO_SERVER);
-        if (currentServerName.equals(limboServerName)) {
-            handlePlayerInLimbo(player, playerName, playerIpv4);
+        if (configManager.getSnapshot().isLimboServer(currentServerName)) {
+            handlePlayerInLimbo(connected);
         } else {
-            handlePlayerInRegularServer(player, playerName, playerIpv4, currentServerName);
+            handlePlayerInRegularServer(connected, currentServerName);
         }
     }
 
     /**
-     * Validates player exists and IP matches, returns the player if valid
+     * Handle many player updates at once, re-checking players in parallel batches
      */
-    private Player validateAndGetPlayer(final String playerName, final String playerIpv4) {
-        final Optional<Player> playerOpt = proxyServer.getPlayer(playerName);
-        if (playerOpt.isEmpty()) {
-            logger.warn("Player {} ({}) not found on proxy", playerName, playerIpv4);
-            return null;
+    private void handleBulkPlayerUpdate(final BulkPlayerUpdateEvent bulkUpdate) {
+        logger.info("Received bulk_player_update event for {} player(s)", bulkUpdate.getPlayersCount());
+        forEachInBatches(bulkUpdate.getPlayersList(), this::handlePlayerUpdate);
+    }
+
+    /**
+     * Handle a revoked server access. Listed players are removed from the server
+     * without an access check; without a list, everyone on the server is re-checked.
+     */
+    private void handleServerAccessRevoked(final ServerAccessRevokedEvent revoked) {
+        final String serverName = revoked.getServerName();
+        if (serverName.isEmpty()) {
+            logger.warn("Ignoring server_access_revoked event without a server name");
+            return;
         }
 
-        final Player player = playerOpt.get();
-        final String actualIpv4 = player.getRemoteAddress().getAddress().getHostAddress();
-        if (!actualIpv4.equals(playerIpv4)) {
-            logger.warn("IP mismatch for player {}: expected {}, got {}", playerName, playerIpv4, actualIpv4);
-            return null;
+        if (revoked.getPlayersCount() == 0) {
+            logger.info("Received server_access_revoked event for every player on `{}`", serverName);
+            accessChecker.invalidateServer(serverName);
+            checkPlayersOnServer(serverName);
+            return;
+        }
+
+        logger.info("Received server_access_revoked event for {} player(s) on `{}`",
+                revoked.getPlayersCount(), serverName);
+
+        final TwigConfig config = configManager.getSnapshot();
+        int removed = 0;
+        for (PlayerUpdateEvent playerUpdate : revoked.getPlayersList()) {
+            final PlayerIdentifier playerId;
+            try {
+                playerId = toPlayerIdentifier(playerUpdate);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping revoked player with invalid address: {}", e.getMessage());
+                continue;
+            }
+
+            accessChecker.invalidate(playerId);
+
+            final ConnectedPlayer connected = players.find(playerId);
+            if (connected != null && revokeAccess(connected, serverName, config)) {
+                removed++;
+            }
         }
 
-        return player;
+        logger.info("Removed {} player(s) from `{}` after access revocation", removed, serverName);
     }
 
     /**
-     * Gets the current server name for a player
+     * Remove a player who lost access to a server, whether they are on it or
+     * waiting in limbo to join it
+     *
+     * @return true if the player was disconnected
      */
-    private String getCurrentServerName(final Player player, final String playerName, final String playerIpv4) {
-        final Optional<ServerConnection> currentServerOpt = player.getCurrentServer();
-        if (currentServerOpt.isEmpty()) {
-            logger.warn("Player {} ({}) is not connected to any server", playerName, playerIpv4);
-            return null;
+    private boolean revokeAccess(final ConnectedPlayer connected, final String serverName,
+            final TwigConfig config) {
+        final String currentServerName = connected.getCurrentServer();
+        if (serverName.equals(currentServerName)) {
+            hotLog.warn(LogCategory.ACCESS_DENIED, "revoked player={} server={}", connected, serverName);
+            disconnectPlayer(connected.getPlayer());
+            return true;
+        }
+
+        final AuthenticationEntry authEntry = connected.getAuthEntry();
+        if (config.isLimboServer(currentServerName) && authEntry != null
+                && serverName.equals(authEntry.getInitialServerName())) {
+            hotLog.warn(LogCategory.ACCESS_DENIED, "revoked player={} server={} from={}",
+                    connected, serverName, currentServerName);
+            connected.clearAuthEntry();
+            disconnectPlayer(connected.getPlayer());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Apply an action to every item, splitting large lists into batches that run
+     * in parallel on the bridge executor. With virtual threads every item is its
+     * own task. Returns once every batch has finished.
+     */
+    private <T> void forEachInBatches(final List<T> items, final Consumer<T> action) {
+        final int batchSize = bridgeExecutor.isVirtual() ? 1 : BULK_BATCH_SIZE;
+        if (items.size() <= 1 || (!bridgeExecutor.isVirtual() && items.size() <= BULK_BATCH_SIZE)) {
+            items.forEach(action);
+            return;
+        }
+
+        final List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            final List<T> batch = items.subList(from, Math.min(from + batchSize, items.size()));
+            batches.add(CompletableFuture.runAsync(() -> batch.forEach(action), bridgeExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            logger.error("Error processing player batch: {}", e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Build the identifier from the raw address, falling back to the textual
+     * address sent by older gRPC servers
+     */
+    private static PlayerIdentifier toPlayerIdentifier(final PlayerUpdateEvent playerUpdate) {
+        if (playerUpdate.getPlayerAddress().isEmpty()) {
+            return new PlayerIdentifier(playerUpdate.getPlayerName(), playerUpdate.getPlayerIpv4());
         }
+        return new PlayerIdentifier(playerUpdate.getPlayerName(), playerUpdate.getPlayerAddress().toByteArray());
+    }
 
-        return currentServerOpt.get().getServerInfo().getName();
+    /**
+     * Gets the current server name for a player
+     */
+    private String getCurrentServerName(final ConnectedPlayer connected) {
+        final String currentServerName = connected.getCurrentServer();
+        if (currentServerName == null) {
+            logger.warn("Player {} is not connected to any server", connected);
+        }
+        return currentServerName;
     }
 
     /**
      * Handle player_update when player is currently in limbo
      * Attempts to connect player to their original server
      */
-    private void handlePlayerInLimbo(final Player player, final String playerName, final String playerIpv4) {
-        final PlayerIdentifier playerId = new PlayerIdentifier(player);
-        final AuthenticationEntry authEntry = authQueue.get(playerId);
+    private void handlePlayerInLimbo(final ConnectedPlayer connected) {
+        final Player player = connected.getPlayer();
+        final PlayerIdentifier playerId = connected.getId();
+        final AuthenticationEntry authEntry = connected.getAuthEntry();
 
         if (authEntry == null) {
-            logger.warn("Player {} ({}) is in limbo but has no authentication entry", playerName, playerIpv4);
+            logger.warn("Player {} is in limbo but has no authentication entry", playerId);
             return;
         }
 
         final String targetServerName = authEntry.getInitialServerName();
-        logger.info("Attempting to connect {} ({}) to original server `{}`", playerName, playerIpv4, targetServerName);
+        hotLog.info(LogCategory.PLAYER_EVENT, "limbo_recheck player={} server={}", playerId, targetServerName);
 
-        AccessStatus status = checkPlayerAccessStatus(playerName, playerIpv4, targetServerName);
+        AccessStatus status = checkPlayerAccessStatus(playerId, targetServerName);
         if (status == null) {
             return;
         }
 
         switch (status) {
             case ALLOWED:
-                handleAllowedPlayerInLimbo(player, playerName, playerIpv4, targetServerName, playerId, authEntry);
+                handleAllowedPlayerInLimbo(connected, targetServerName);
                 break;
             case PROHIBITED:
-                handleProhibitedPlayerInLimbo(player, playerName, playerIpv4, targetServerName, playerId, authEntry);
+                handleProhibitedPlayerInLimbo(connected, targetServerName);
                 break;
             case REQUIRES_SIGNUP:
                 // Player stays in limbo - no action needed
-                logger.debug("Player {} ({}) still requires signup for server `{}`", playerName, playerIpv4,
-                        targetServerName);
+                logger.debug("Player {} still requires signup for server `{}`", playerId, targetServerName);
                 break;
             default:
-                logger.warn("Unknown access status {} for player {} ({})", status, playerName, playerIpv4);
+                logger.warn("Unknown access status {} for player {}", status, playerId);
                 break;
         }
     }
 
     /**
-     * Handle player who is now allowed to join from limbo
+     * Handle player who is now allowed to join from limbo by queueing their
+     * transfer, so mass verifications reach the backend at a steady pace
      */
-    private void handleAllowedPlayerInLimbo(final Player player, final String playerName, final String playerIpv4,
-            final String targetServerName, final PlayerIdentifier playerId,
-            final AuthenticationEntry authEntry) {
+    private void handleAllowedPlayerInLimbo(final ConnectedPlayer connected, final String targetServerName) {
         final Optional<RegisteredServer> targetServer = proxyServer.getServer(targetServerName);
         if (targetServer.isEmpty()) {
-            logger.error("Target server `{}` not found for player {} ({})", targetServerName, playerName, playerIpv4);
+            logger.error("Target server `{}` not found for player {}", targetServerName, connected);
             return;
         }
 
-        logger.info("Player {} ({}) is now allowed to join `{}`, connecting...", playerName, playerIpv4,
-                targetServerName);
-
-        cleanupAuthEntry(playerId, authEntry);
-        player.createConnectionRequest(targetServer.get()).fireAndForget();
+        connected.clearAuthEntry();
+        final int position = releaseScheduler.enqueue(connected, targetServer.get());
+        hotLog.info(LogCategory.PLAYER_EVENT, "limbo_release player={} server={} position={}",
+                connected, targetServerName, position);
     }
 
     /**
      * Handle player who is prohibited from joining
      */
-    private void handleProhibitedPlayerInLimbo(final Player player, final String playerName, final String playerIpv4,
-            final String targetServerName, final PlayerIdentifier playerId,
-            final AuthenticationEntry authEntry) {
-        logger.warn("Player {} ({}) is now prohibited from joining `{}`", playerName, playerIpv4, targetServerName);
+    private void handleProhibitedPlayerInLimbo(final ConnectedPlayer connected, final String targetServerName) {
+        hotLog.warn(LogCategory.ACCESS_DENIED, "denied player={} server={} from=limbo", connected,
+                targetServerName);
 
-        cleanupAuthEntry(playerId, authEntry);
-        disconnectPlayer(player);
+        connected.clearAuthEntry();
+        disconnectPlayer(connected.getPlayer());
     }
 
     /**
      * Handle player_update when player is on a regular server
      * Checks if player still has permission to be there
      */
-    private void handlePlayerInRegularServer(final Player player, final String playerName, final String playerIpv4,
-            final String currentServerName) {
-        logger.info("Checking permissions for {} ({}) on server `{}`", playerName, playerIpv4, currentServerName);
+    private void handlePlayerInRegularServer(final ConnectedPlayer connected, final String currentServerName) {
+        final Player player = connected.getPlayer();
+        final PlayerIdentifier playerId = connected.getId();
 
-        final AccessStatus status = checkPlayerAccessStatus(playerName, playerIpv4, currentServerName);
+        final AccessStatus status = checkPlayerAccessStatus(playerId, currentServerName);
         if (status == null) {
             return;
         }
+        connected.markVerified();
 
         if (status != AccessStatus.ALLOWED) {
-            logger.warn("Player {} ({}) no longer has permission for server `{}`, disconnecting...",
-                    playerName, playerIpv4, currentServerName);
+            hotLog.warn(LogCategory.ACCESS_DENIED, "denied player={} server={} status={}",
+                    playerId, currentServerName, status);
             disconnectPlayer(player);
         } else {
-            logger.info("Player {} ({}) still has permission for server `{}`", playerName, playerIpv4,
-                    currentServerName);
+            hotLog.info(LogCategory.PLAYER_EVENT, "recheck player={} server={} status={}",
+                    playerId, currentServerName, status);
         }
     }
 
     /**
      * Check player access status via gRPC client
-     * 
+     *
      * @return AccessStatus if successful, null if error occurred
      */
-    private AccessStatus checkPlayerAccessStatus(final String playerName, final String playerIpv4,
-            final String serverName) {
-        final String proxyUuid = configManager.getString(CONFIG_KEY_PROXY_UUID);
-
+    private AccessStatus checkPlayerAccessStatus(final PlayerIdentifier playerId, final String serverName) {
         try {
-            final PlayerAccessResponse response = grpcClient.checkPlayerAccess(playerName, playerIpv4, serverName,
-                    proxyUuid);
+            final PlayerAccessResponse response = accessChecker.checkFresh(playerId, serverName);
             return response.getStatus();
         } catch (Exception e) {
-            logger.error("Failed to check player access for {} ({}) on server `{}`: {}",
-                    playerName, playerIpv4, serverName, e.getMessage(), e);
+            logger.error("Failed to check player access for {} on server `{}`: {}",
+                    playerId, serverName, e.getMessage(), e);
             return null;
         }
     }
 
-    /**
-     * Cleanup authentication entry by canceling task and removing from queue
-     */
-    private void cleanupAuthEntry(final PlayerIdentifier playerId, final AuthenticationEntry authEntry) {
-        authEntry.cancelTask();
-        authQueue.remove(playerId);
-    }
-
     /**
      * Disconnect player with configured message
      */
     private void disconnectPlayer(final Player player) {
-        final String message = configManager.getString(CONFIG_KEY_NOT_ALLOWED_MESSAGE, DEFAULT_NOT_ALLOWED_MESSAGE);
-        final Component disconnectMessage = Component.text(message);
-        player.disconnect(disconnectMessage);
+        player.disconnect(configManager.getSnapshot().getNotAllowedComponent());
     }
 
     /**
@@ -246,47 +361,80 @@ public class PlayerUpdateEventHandler {
     public void checkAllPlayers() {
         logger.info("Checking access status for all connected players after reconnection...");
 
-        int playerCount = 0;
-        for (Player player : proxyServer.getAllPlayers()) {
-            playerCount++;
-            final String playerName = player.getUsername();
-            final String playerIpv4 = player.getRemoteAddress().getAddress().getHostAddress();
+        // Events may have been missed while disconnected
+        accessChecker.invalidateAll();
 
-            // Get current server
-            final String currentServerName = getCurrentServerName(player, playerName, playerIpv4);
-            if (currentServerName == null) {
-                continue;
-            }
+        final int playerCount = verifyPlayers(players.getAll());
+        logger.info("Completed checking {} player(s) after reconnection", playerCount);
+    }
 
-            final String limboServerName = configManager.getString(CONFIG_KEY_LIMBO_SERVER);
+    /**
+     * Verify the access of every player currently on a server
+     *
+     * @param serverName The server to sweep
+     * @return Number of players checked
+     */
+    public int checkPlayersOnServer(final String serverName) {
+        logger.info("Checking access status for players on server `{}`...", serverName);
+        return verifyPlayers(players.getOnServer(serverName));
+    }
 
-            // Skip limbo server players - they're already being handled by the auth queue
-            if (currentServerName.equals(limboServerName)) {
-                logger.debug("Skipping player {} ({}) in limbo server", playerName, playerIpv4);
-                continue;
-            }
+    /**
+     * Re-check players on regular servers in parallel batches, disconnecting
+     * those who lost access
+     *
+     * @return Number of players visited
+     */
+    private int verifyPlayers(final Collection<ConnectedPlayer> connectedPlayers) {
+        final List<ConnectedPlayer> snapshot = new ArrayList<>(connectedPlayers);
+        final TwigConfig config = configManager.getSnapshot();
+        forEachInBatches(snapshot, connected -> verifyPlayer(connected, config));
+        return snapshot.size();
+    }
 
-            // Check access for players on regular servers
-            logger.debug("Verifying access for player {} ({}) on server `{}`",
-                    playerName, playerIpv4, currentServerName);
+    /**
+     * Re-check one player's access on their current server, disconnecting them
+     * if they lost it
+     *
+     * @param connected The player to verify
+     */
+    public void verifyPlayer(final ConnectedPlayer connected) {
+        verifyPlayer(connected, configManager.getSnapshot());
+    }
 
-            final AccessStatus status = checkPlayerAccessStatus(playerName, playerIpv4, currentServerName);
-            if (status == null) {
-                logger.warn("Failed to check access for player {} ({}) on server `{}`",
-                        playerName, playerIpv4, currentServerName);
-                continue;
-            }
+    private void verifyPlayer(final ConnectedPlayer connected, final TwigConfig config) {
+        // Read directly, a player without a server is still connecting and not worth a warning
+        final String currentServerName = connected.getCurrentServer();
+        if (currentServerName == null) {
+            // Still connecting, the join itself is checked
+            logger.debug("Skipping player {} still connecting", connected);
+            connected.markVerified();
+            return;
+        }
 
-            if (status != AccessStatus.ALLOWED) {
-                logger.warn("Player {} ({}) no longer has permission for server `{}` (status: {}), disconnecting...",
-                        playerName, playerIpv4, currentServerName, status);
-                disconnectPlayer(player);
-            } else {
-                logger.debug("Player {} ({}) verified on server `{}`",
-                        playerName, playerIpv4, currentServerName);
-            }
+        // Skip limbo server players - they're already being handled by their auth entry
+        if (config.isLimboServer(currentServerName)) {
+            logger.debug("Skipping player {} in limbo server", connected);
+            connected.markVerified();
+            return;
         }
 
-        logger.info("Completed checking {} player(s) after reconnection", playerCount);
+        // Check access for players on regular servers
+        hotLog.count(LogCategory.VERIFICATION);
+
+        final AccessStatus status = checkPlayerAccessStatus(connected.getId(), currentServerName);
+        if (status == null) {
+            logger.warn("Failed to check access for player {} on server `{}`", connected, currentServerName);
+            return;
+        }
+        connected.markVerified();
+
+        if (status != AccessStatus.ALLOWED) {
+            hotLog.warn(LogCategory.ACCESS_DENIED, "denied player={} server={} status={}",
+                    connected, currentServerName, status);
+            disconnectPlayer(connected.getPlayer());
+        } else {
+            logger.debug("Player {} verified on server `{}`", connected, currentServerName);
+        }
     }
 }
@@ -0,0 +1,184 @@
+package com.github.caiostoduto.twig.listeners;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.Twig;
+import com.github.caiostoduto.twig.config.ConfigManager;
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.github.caiostoduto.twig.grpc.MinecraftBridgeClient;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.proxy.server.ServerRegisteredEvent;
+import com.velocitypowered.api.event.proxy.server.ServerUnregisteredEvent;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+
+import io.grpc.Status;
+
+/**
+ * Tracks servers registered and unregistered at runtime and sends the
+ * differences to the gRPC server as debounced, batched incremental updates.
+ * Servers without the incremental RPC get the full list instead.
+ */
+public class ServerRegistrationHandler {
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private final Twig plugin;
+    private final Logger logger;
+    private final ProxyServer proxyServer;
+    private final ConfigManager configManager;
+    private final MinecraftBridgeClient grpcClient;
+    private final Executor bridgeExecutor;
+
+    // Servers the gRPC server currently knows about
+    private final Set<String> announcedServers = new HashSet<>();
+    private ScheduledTask pendingFlush;
+    private long retryDelayMillis = 0;
+    // Set once the server answers UpdateProxyRegistration with UNIMPLEMENTED
+    private volatile boolean updatesUnsupported = false;
+
+    /**
+     * @param bridgeExecutor Runs the blocking registration RPCs off the proxy scheduler
+     */
+    public ServerRegistrationHandler(final Twig plugin, final Logger logger, final ProxyServer proxyServer,
+            final ConfigManager configManager, final MinecraftBridgeClient grpcClient,
+            final Executor bridgeExecutor) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.proxyServer = proxyServer;
+        this.configManager = configManager;
+        this.grpcClient = grpcClient;
+        this.bridgeExecutor = bridgeExecutor;
+    }
+
+    /**
+     * Collect the names of all non-limbo servers currently registered in Velocity
+     */
+    public List<String> collectServerNames() {
+        final TwigConfig config = configManager.getSnapshot();
+        return proxyServer.getAllServers().stream()
+                .map(server -> server.getServerInfo().getName())
+                .filter(server -> !config.isLimboServer(server))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Record the server list sent by a full registration
+     *
+     * @param serverNames Server names included in the registration
+     */
+    public synchronized void onFullRegistration(final List<String> serverNames) {
+        announcedServers.clear();
+        announcedServers.addAll(serverNames);
+
+        // Servers may have changed while the registration was in flight
+        scheduleFlush(configManager.getSnapshot().getRegistrationDebounceMillis());
+    }
+
+    @Subscribe
+    public void onServerRegistered(final ServerRegisteredEvent event) {
+        logger.debug("Server `{}` registered", event.registeredServer().getServerInfo().getName());
+        scheduleFlush(configManager.getSnapshot().getRegistrationDebounceMillis());
+    }
+
+    @Subscribe
+    public void onServerUnregistered(final ServerUnregisteredEvent event) {
+        logger.debug("Server `{}` unregistered", event.registeredServer().getServerInfo().getName());
+        scheduleFlush(configManager.getSnapshot().getRegistrationDebounceMillis());
+    }
+
+    /**
+     * Schedule a flush unless one is already pending, so bursts of changes
+     * collapse into a single update
+     */
+    private synchronized void scheduleFlush(final long delayMillis) {
+        if (pendingFlush != null) {
+            return;
+        }
+
+        pendingFlush = proxyServer.getScheduler().buildTask(plugin, () -> bridgeExecutor.execute(this::flush))
+                .delay(Duration.ofMillis(delayMillis))
+                .schedule();
+    }
+
+    /**
+     * Send the difference between the current and the announced server list
+     */
+    private void flush() {
+        final List<String> added;
+        final List<String> removed;
+        final Set<String> current = new HashSet<>(collectServerNames());
+
+        synchronized (this) {
+            pendingFlush = null;
+
+            // Unregistered proxies get the full list on their next registration
+            if (!grpcClient.isRegistered() || grpcClient.isShutdown()) {
+                return;
+            }
+
+            added = new ArrayList<>(current);
+            added.removeAll(announcedServers);
+            removed = new ArrayList<>(announcedServers);
+            removed.removeAll(current);
+        }
+
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (send(new ArrayList<>(current), added, removed)) {
+                synchronized (this) {
+                    announcedServers.addAll(added);
+                    announcedServers.removeAll(removed);
+                    retryDelayMillis = 0;
+                }
+                return;
+            }
+        } catch (Exception e) {
+            logger.error("Failed to update proxy registration: {}", e.getMessage());
+        }
+
+        if (grpcClient.isShutdown()) {
+            return;
+        }
+
+        // Exponential backoff with cap
+        synchronized (this) {
+            retryDelayMillis = Math.min(Math.max(retryDelayMillis * 2, 1000), MAX_RETRY_DELAY_MILLIS);
+            logger.warn("Retrying proxy registration update in {} ms...", retryDelayMillis);
+            scheduleFlush(retryDelayMillis);
+        }
+    }
+
+    /**
+     * Send the changes incrementally, or re-register the full server list if
+     * the gRPC server doesn't implement incremental updates
+     *
+     * @return true if the gRPC server accepted the change
+     */
+    private boolean send(final List<String> current, final List<String> added, final List<String> removed) {
+        final String proxyId = configManager.getStartupSnapshot().getTwigUuid();
+        if (!updatesUnsupported) {
+            try {
+                return grpcClient.updateProxyRegistration(proxyId, added, removed).getSuccess();
+            } catch (RuntimeException e) {
+                if (Status.fromThrowable(e).getCode() != Status.Code.UNIMPLEMENTED) {
+                    throw e;
+                }
+                updatesUnsupported = true;
+                logger.warn("gRPC server does not support incremental registration updates, "
+                        + "sending the full server list instead");
+            }
+        }
+        return grpcClient.registerProxy(proxyId, current).getSuccess();
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.caiostoduto.twig.logging;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.config.TwigConfig;
+
+/**
+ * Logging facade for the login and event hot paths. Every call is counted per
+ * {@link LogCategory}, but only sampled lines within the per-category rate
+ * limit reach the underlying logger. Suppressed lines are reported as counters
+ * by {@link #logSummary()}, so steady-state logging costs a counter increment.
+ * <p>
+ * Messages are passed as slf4j templates with fixed-arity arguments, so
+ * nothing is formatted or boxed into an array unless the line is emitted.
+ */
+public class HotPathLogger {
+    private final Logger logger;
+    private final CategoryState[] states = new CategoryState[LogCategory.values().length];
+    private volatile int ratePerSecond;
+    private volatile int sampleEvery;
+
+    public HotPathLogger(final Logger logger, final TwigConfig config) {
+        this.logger = logger;
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new CategoryState();
+        }
+        applyConfig(config);
+    }
+
+    /**
+     * Apply the sampling and rate limit settings of a config snapshot
+     */
+    public void applyConfig(final TwigConfig config) {
+        this.ratePerSecond = config.getLogRatePerSecond();
+        this.sampleEvery = config.getLogSampleEvery();
+    }
+
+    /**
+     * Count an event without logging it
+     */
+    public void count(final LogCategory category) {
+        states[category.ordinal()].events.increment();
+    }
+
+    public void info(final LogCategory category, final String format, final Object arg) {
+        if (logger.isInfoEnabled() && admit(category)) {
+            logger.info(format, arg);
+        }
+    }
+
+    public void info(final LogCategory category, final String format, final Object arg1, final Object arg2) {
+        if (logger.isInfoEnabled() && admit(category)) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(final LogCategory category, final String format, final Object arg1, final Object arg2,
+            final Object arg3) {
+        if (logger.isInfoEnabled() && admit(category)) {
+            logger.info(format, arg1, arg2, arg3);
+        }
+    }
+
+    public void warn(final LogCategory category, final String format, final Object arg) {
+        if (logger.isWarnEnabled() && admit(category)) {
+            logger.warn(format, arg);
+        }
+    }
+
+    public void warn(final LogCategory category, final String format, final Object arg1, final Object arg2) {
+        if (logger.isWarnEnabled() && admit(category)) {
+            logger.warn(format, arg1, arg2);
+        }
+    }
+
+    public void warn(final LogCategory category, final String format, final Object arg1, final Object arg2,
+            final Object arg3) {
+        if (logger.isWarnEnabled() && admit(category)) {
+            logger.warn(format, arg1, arg2, arg3);
+        }
+    }
+
+    /**
+     * Count the event and decide whether its line is emitted
+     */
+    private boolean admit(final LogCategory category) {
+        final CategoryState state = states[category.ordinal()];
+        state.events.increment();
+        if (category.isAudit()) {
+            return true;
+        }
+
+        final int sample = sampleEvery;
+        if (sample > 1 && state.sequence.incrementAndGet() % sample != 0) {
+            state.suppressed.increment();
+            return false;
+        }
+
+        final int rate = ratePerSecond;
+        if (rate > 0) {
+            final long second = System.nanoTime() / 1_000_000_000L;
+            if (state.windowSecond != second) {
+                // Racing resets only let a few extra lines through
+                state.windowSecond = second;
+                state.windowCount.set(0);
+            }
+            if (state.windowCount.incrementAndGet() > rate) {
+                state.suppressed.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Log the counters collected since the last summary and reset them.
+     * Nothing is logged if no hot-path event happened.
+     */
+    public void logSummary() {
+        StringBuilder summary = null;
+        for (LogCategory category : LogCategory.values()) {
+            final CategoryState state = states[category.ordinal()];
+            final long events = state.events.sumThenReset();
+            final long suppressed = state.suppressed.sumThenReset();
+            if (events == 0) {
+                continue;
+            }
+
+            if (summary == null) {
+                summary = new StringBuilder();
+            } else {
+                summary.append(' ');
+            }
+            summary.append(category.getKey()).append('=').append(events);
+            if (suppressed > 0) {
+                summary.append(" (").append(suppressed).append(" lines suppressed)");
+            }
+        }
+
+        if (summary != null) {
+            logger.info("Activity summary: {}", summary);
+        }
+    }
+
+    private static final class CategoryState {
+        private final LongAdder events = new LongAdder();
+        private final LongAdder suppressed = new LongAdder();
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicInteger windowCount = new AtomicInteger();
+        private volatile long windowSecond = -1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.github.caiostoduto.twig.logging;
+
+/**
+ * Hot-path log categories. Each category is sampled, rate limited and counted
+ * separately by {@link HotPathLogger}, except audit categories, whose lines
+ * are always logged.
+ */
+public enum LogCategory {
+    LOGIN("login", false),
+    // Denials and revocations are an audit trail, a dropped line is a lost record
+    ACCESS_DENIED("access_denied", true),
+    PLAYER_EVENT("player_event", false),
+    LIMBO("limbo", false),
+    VERIFICATION("verification", false);
+
+    private final String key;
+    private final boolean audit;
+
+    LogCategory(final String key, final boolean audit) {
+        this.key = key;
+        this.audit = audit;
+    }
+
+    /**
+     * Short name used in structured log lines and summaries
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Whether every line is logged, bypassing sampling and the rate limit
+     */
+    public boolean isAudit() {
+        return audit;
+    }
+}
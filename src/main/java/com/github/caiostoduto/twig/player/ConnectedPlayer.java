@@ -0,0 +1,97 @@
+package com.github.caiostoduto.twig.player;
+
+import com.github.caiostoduto.twig.auth.AuthenticationEntry;
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.velocitypowered.api.proxy.Player;
+
+/**
+ * Plugin-side state for one connection: the Velocity player, its identifier,
+ * the server it is on and its pending authentication, if any.
+ */
+public final class ConnectedPlayer {
+    private final Player player;
+    private final PlayerIdentifier id;
+    private volatile String currentServer;
+    private volatile AuthenticationEntry authEntry;
+    // The login access check counts as the first verification
+    private volatile long lastVerifiedAt = System.currentTimeMillis();
+
+    ConnectedPlayer(final Player player) {
+        this.player = player;
+        this.id = new PlayerIdentifier(player);
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public PlayerIdentifier getId() {
+        return id;
+    }
+
+    /**
+     * @return Name of the server the player is on, or null while connecting
+     */
+    public String getCurrentServer() {
+        return currentServer;
+    }
+
+    void setCurrentServer(final String currentServer) {
+        this.currentServer = currentServer;
+    }
+
+    /**
+     * @return The pending authentication, or null if the player is not waiting in limbo
+     */
+    public AuthenticationEntry getAuthEntry() {
+        return authEntry;
+    }
+
+    /**
+     * Set the pending authentication, cancelling the task of any previous entry
+     */
+    public synchronized void setAuthEntry(final AuthenticationEntry authEntry) {
+        final AuthenticationEntry previous = this.authEntry;
+        this.authEntry = authEntry;
+        if (previous != null && previous != authEntry) {
+            previous.cancelTask();
+        }
+    }
+
+    /**
+     * Remove the pending authentication and cancel its reminder task
+     *
+     * @return The removed entry, or null if there was none
+     */
+    public synchronized AuthenticationEntry clearAuthEntry() {
+        final AuthenticationEntry removed = authEntry;
+        authEntry = null;
+        if (removed != null) {
+            removed.cancelTask();
+        }
+        return removed;
+    }
+
+    /**
+     * @return Unix timestamp in milliseconds of the last access check, 0 if one is due now
+     */
+    public long getLastVerifiedAt() {
+        return lastVerifiedAt;
+    }
+
+    public void markVerified() {
+        lastVerifiedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Make the player due for re-verification ahead of everyone verified since
+     */
+    public void resetVerification() {
+        lastVerifiedAt = 0;
+    }
+
+    @Override
+    public String toString() {
+        return id.toString();
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.caiostoduto.twig.player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.caiostoduto.twig.config.ConfigManager;
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.player.KickedFromServerEvent;
+import com.velocitypowered.api.event.player.ServerConnectedEvent;
+import com.velocitypowered.api.event.player.ServerPreConnectEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+
+/**
+ * Players currently on a limbo server, maintained from server connections and
+ * disconnects. Checking whether a player is in limbo is a single identity
+ * lookup instead of a config read and a server name comparison. Per-limbo
+ * occupancy drives least-loaded placement; a placement reserves a slot until
+ * the player connects or the connection fails.
+ */
+public class LimboMembership {
+    private final ProxyServer proxyServer;
+    private final ConfigManager configManager;
+    private final PlayerRegistry players;
+    // Velocity players use identity equality
+    private final Map<Player, String> members = new ConcurrentHashMap<>();
+    // Placements the player hasn't connected to yet, counted in the occupancy
+    private final Map<Player, String> reservations = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> occupancy = new ConcurrentHashMap<>();
+
+    public LimboMembership(final ProxyServer proxyServer, final ConfigManager configManager,
+            final PlayerRegistry players) {
+        this.proxyServer = proxyServer;
+        this.configManager = configManager;
+        this.players = players;
+    }
+
+    public boolean contains(final Player player) {
+        return members.containsKey(player);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Pick the least-loaded registered limbo server for a player and reserve a
+     * slot there right away, so a burst of placements spreads across limbos
+     * before the players arrive. The player only becomes a member once
+     * connected.
+     *
+     * @return The chosen limbo, or null if no limbo server is registered
+     */
+    public RegisteredServer place(final Player player) {
+        final TwigConfig config = configManager.getSnapshot();
+        RegisteredServer best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (RegisteredServer server : proxyServer.getAllServers()) {
+            final String name = server.getServerInfo().getName();
+            if (!config.isLimboServer(name)) {
+                continue;
+            }
+
+            final int load = getOccupancy(name);
+            if (load < bestLoad) {
+                best = server;
+                bestLoad = load;
+            }
+        }
+
+        if (best != null) {
+            reserve(player, best.getServerInfo().getName());
+        }
+        return best;
+    }
+
+    public int getOccupancy(final String limboServerName) {
+        final AtomicInteger count = occupancy.get(limboServerName);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Players per registered limbo server, sorted by server name
+     */
+    public Map<String, Integer> getOccupancy() {
+        final TwigConfig config = configManager.getSnapshot();
+        final Map<String, Integer> snapshot = new TreeMap<>();
+        for (RegisteredServer server : proxyServer.getAllServers()) {
+            final String name = server.getServerInfo().getName();
+            if (config.isLimboServer(name)) {
+                snapshot.put(name, getOccupancy(name));
+            }
+        }
+        return snapshot;
+    }
+
+    // Runs first so other handlers of the same event see the new membership
+    @Subscribe(order = PostOrder.FIRST)
+    public void onServerConnected(final ServerConnectedEvent event) {
+        release(event.getPlayer());
+        final String serverName = event.getServer().getServerInfo().getName();
+        if (configManager.getSnapshot().isLimboServer(serverName)) {
+            assign(event.getPlayer(), serverName);
+        } else {
+            remove(event.getPlayer());
+        }
+    }
+
+    // Runs last so the result is final, a placement may have redirected the player here
+    @Subscribe(order = PostOrder.LAST)
+    public void onServerPreConnect(final ServerPreConnectEvent event) {
+        final String reserved = reservations.get(event.getPlayer());
+        if (reserved == null) {
+            return;
+        }
+
+        final Optional<RegisteredServer> target = event.getResult().getServer();
+        if (!event.getResult().isAllowed() || !target.isPresent()
+                || !target.get().getServerInfo().getName().equals(reserved)) {
+            release(event.getPlayer());
+        }
+    }
+
+    @Subscribe
+    public void onKickedFromServer(final KickedFromServerEvent event) {
+        final String reserved = reservations.get(event.getPlayer());
+        if (reserved != null && reserved.equals(event.getServer().getServerInfo().getName())) {
+            release(event.getPlayer());
+        }
+    }
+
+    @Subscribe(order = PostOrder.LAST)
+    public void onDisconnect(final DisconnectEvent event) {
+        release(event.getPlayer());
+        remove(event.getPlayer());
+    }
+
+    /**
+     * Rebuild the membership from the players' current servers, e.g. after the
+     * limbo servers changed. Placements still in transit are dropped.
+     */
+    public void rebuild(final TwigConfig config) {
+        final Map<Player, String> inLimbo = new HashMap<>();
+        for (ConnectedPlayer connected : players.getAll()) {
+            final String serverName = connected.getCurrentServer();
+            if (config.isLimboServer(serverName)) {
+                inLimbo.put(connected.getPlayer(), serverName);
+            }
+        }
+
+        for (Player player : reservations.keySet()) {
+            release(player);
+        }
+        for (Player player : members.keySet()) {
+            if (!inLimbo.containsKey(player)) {
+                remove(player);
+            }
+        }
+        inLimbo.forEach(this::assign);
+    }
+
+    private void assign(final Player player, final String limboServerName) {
+        final String previous = members.put(player, limboServerName);
+        if (limboServerName.equals(previous)) {
+            return;
+        }
+
+        occupancy.computeIfAbsent(limboServerName, name -> new AtomicInteger()).incrementAndGet();
+        if (previous != null) {
+            occupancy.get(previous).decrementAndGet();
+        }
+    }
+
+    private void reserve(final Player player, final String limboServerName) {
+        final String previous = reservations.put(player, limboServerName);
+        if (limboServerName.equals(previous)) {
+            return;
+        }
+
+        occupancy.computeIfAbsent(limboServerName, name -> new AtomicInteger()).incrementAndGet();
+        if (previous != null) {
+            occupancy.get(previous).decrementAndGet();
+        }
+    }
+
+    private void release(final Player player) {
+        final String previous = reservations.remove(player);
+        if (previous != null) {
+            occupancy.get(previous).decrementAndGet();
+        }
+    }
+
+    private void remove(final Player player) {
+        final String previous = members.remove(player);
+        if (previous != null) {
+            occupancy.get(previous).decrementAndGet();
+        }
+    }
+}
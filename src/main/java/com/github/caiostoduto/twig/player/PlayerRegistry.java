@@ -0,0 +1,123 @@
+package com.github.caiostoduto.twig.player;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.caiostoduto.twig.auth.PlayerIdentifier;
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.connection.LoginEvent;
+import com.velocitypowered.api.event.player.ServerConnectedEvent;
+import com.velocitypowered.api.proxy.Player;
+
+/**
+ * Registry of connected players, maintained from login, server switch and
+ * disconnect events. Players are indexed by UUID, by {@link PlayerIdentifier}
+ * and by current server, so event handling needs no name lookups and
+ * server-scoped sweeps only visit the players on that server.
+ */
+public class PlayerRegistry {
+    private final Map<UUID, ConnectedPlayer> byUuid = new ConcurrentHashMap<>();
+    private final Map<PlayerIdentifier, ConnectedPlayer> byId = new ConcurrentHashMap<>();
+    private final Map<String, Set<ConnectedPlayer>> byServer = new ConcurrentHashMap<>();
+
+    @Subscribe(order = PostOrder.FIRST)
+    public void onLogin(final LoginEvent event) {
+        get(event.getPlayer());
+    }
+
+    @Subscribe(order = PostOrder.FIRST)
+    public void onServerConnected(final ServerConnectedEvent event) {
+        move(get(event.getPlayer()), event.getServer().getServerInfo().getName());
+    }
+
+    // Runs last so other disconnect handlers can still read the player's state
+    @Subscribe(order = PostOrder.LAST)
+    public void onDisconnect(final DisconnectEvent event) {
+        final ConnectedPlayer connected = byUuid.remove(event.getPlayer().getUniqueId());
+        if (connected == null) {
+            return;
+        }
+
+        byId.remove(connected.getId(), connected);
+        move(connected, null);
+        connected.clearAuthEntry();
+    }
+
+    /**
+     * Get the state for a connected player, registering it on first use
+     */
+    public ConnectedPlayer get(final Player player) {
+        final ConnectedPlayer existing = byUuid.get(player.getUniqueId());
+        if (existing != null) {
+            return existing;
+        }
+
+        final ConnectedPlayer created = new ConnectedPlayer(player);
+        final ConnectedPlayer raced = byUuid.putIfAbsent(player.getUniqueId(), created);
+        if (raced != null) {
+            return raced;
+        }
+        byId.put(created.getId(), created);
+        return created;
+    }
+
+    /**
+     * Find a connected player by username and address
+     *
+     * @return The player, or null if nobody is connected with that identifier
+     */
+    public ConnectedPlayer find(final PlayerIdentifier playerId) {
+        return byId.get(playerId);
+    }
+
+    public Collection<ConnectedPlayer> getAll() {
+        return Collections.unmodifiableCollection(byUuid.values());
+    }
+
+    /**
+     * Get the players currently on a server
+     *
+     * @return Live view of the players on the server, empty if there are none
+     */
+    public Collection<ConnectedPlayer> getOnServer(final String serverName) {
+        final Set<ConnectedPlayer> players = byServer.get(serverName);
+        return players == null ? Collections.emptySet() : Collections.unmodifiableSet(players);
+    }
+
+    public int size() {
+        return byUuid.size();
+    }
+
+    /**
+     * Move a player between server indexes
+     *
+     * @param serverName The new server, or null to drop the player from every index
+     */
+    private void move(final ConnectedPlayer connected, final String serverName) {
+        synchronized (connected) {
+            final String previous = connected.getCurrentServer();
+            if (previous != null) {
+                byServer.computeIfPresent(previous, (name, players) -> {
+                    players.remove(connected);
+                    return players.isEmpty() ? null : players;
+                });
+            }
+
+            connected.setCurrentServer(serverName);
+            if (serverName != null) {
+                byServer.compute(serverName, (name, players) -> {
+                    final Set<ConnectedPlayer> updated = players != null ? players
+                            : ConcurrentHashMap.newKeySet();
+                    updated.add(connected);
+                    return updated;
+                });
+            }
+        }
+    }
+}
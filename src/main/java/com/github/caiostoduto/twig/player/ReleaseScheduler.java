@@ -0,0 +1,262 @@
+package com.github.caiostoduto.twig.player;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.config.ConfigManager;
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.github.caiostoduto.twig.logging.HotPathLogger;
+import com.github.caiostoduto.twig.logging.LogCategory;
+import com.velocitypowered.api.proxy.ConnectionRequestBuilder;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+
+import net.kyori.adventure.text.Component;
+
+/**
+ * Paces transfers of players released from limbo, with one queue per target
+ * server. Each queue starts at most release_rate_per_second transfers per
+ * second with at most release_max_concurrent in flight, so a mass verification
+ * doesn't flood the backend with logins. A failed transfer is retried first,
+ * after an exponential backoff during which the server's queue is paused.
+ */
+public class ReleaseScheduler {
+    private static final Duration TICK = Duration.ofMillis(250);
+    private static final long POSITION_INTERVAL_MILLIS = 5000;
+    private static final long BASE_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final Object plugin;
+    private final Logger logger;
+    private final HotPathLogger hotLog;
+    private final ProxyServer proxyServer;
+    private final ConfigManager configManager;
+    private final Map<String, ServerQueue> queues = new ConcurrentHashMap<>();
+
+    private ScheduledTask task;
+
+    public ReleaseScheduler(final Object plugin, final Logger logger, final HotPathLogger hotLog,
+            final ProxyServer proxyServer, final ConfigManager configManager) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.hotLog = hotLog;
+        this.proxyServer = proxyServer;
+        this.configManager = configManager;
+    }
+
+    public synchronized void start() {
+        if (task == null) {
+            task = proxyServer.getScheduler().buildTask(plugin, this::tick)
+                    .delay(TICK)
+                    .repeat(TICK)
+                    .schedule();
+        }
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Queue a player for transfer to a server and tell them their position
+     *
+     * @return The player's position in the queue, 0 if they were already queued
+     */
+    public int enqueue(final ConnectedPlayer connected, final RegisteredServer server) {
+        final String serverName = server.getServerInfo().getName();
+        final ServerQueue queue = queues.computeIfAbsent(serverName, name -> new ServerQueue(server));
+        final int position = queue.add(new Release(connected));
+        if (position > 0) {
+            sendPosition(connected.getPlayer(), serverName, position);
+        }
+        return position;
+    }
+
+    /**
+     * Number of players waiting for or in a transfer, across every server
+     */
+    public int size() {
+        int size = 0;
+        for (ServerQueue queue : queues.values()) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    private void tick() {
+        final TwigConfig config = configManager.getSnapshot();
+        final long now = System.currentTimeMillis();
+
+        for (ServerQueue queue : queues.values()) {
+            for (Release release : queue.take(config, now)) {
+                transfer(queue, release, config);
+            }
+
+            if (now - queue.lastPositionMillis >= POSITION_INTERVAL_MILLIS) {
+                queue.lastPositionMillis = now;
+                final List<Player> waiting = queue.waiting();
+                for (int i = 0; i < waiting.size(); i++) {
+                    sendPosition(waiting.get(i), queue.serverName, i + 1);
+                }
+            }
+        }
+    }
+
+    private void transfer(final ServerQueue queue, final Release release, final TwigConfig config) {
+        final Player player = release.connected.getPlayer();
+        if (!player.isActive()) {
+            queue.complete(release);
+            return;
+        }
+
+        release.attempts++;
+        player.createConnectionRequest(queue.server).connect().whenComplete((result, error) -> {
+            if (error == null && (result.isSuccessful()
+                    || result.getStatus() == ConnectionRequestBuilder.Status.ALREADY_CONNECTED)) {
+                queue.complete(release);
+                return;
+            }
+
+            final Object reason = error != null ? error.getMessage() : result.getStatus();
+            onTransferFailed(queue, release, reason, config.getReleaseMaxAttempts());
+        });
+    }
+
+    private void onTransferFailed(final ServerQueue queue, final Release release, final Object reason,
+            final int maxAttempts) {
+        final Player player = release.connected.getPlayer();
+        if (!player.isActive()) {
+            queue.complete(release);
+            return;
+        }
+
+        if (release.attempts >= maxAttempts) {
+            queue.complete(release);
+            logger.warn("Giving up on moving {} to `{}` after {} attempt(s): {}",
+                    release.connected, queue.serverName, release.attempts, reason);
+            player.sendMessage(Component.text("Não foi possível conectar ao servidor `" + queue.serverName
+                    + "`. Entre novamente para tentar outra vez."));
+            return;
+        }
+
+        final long backoffMillis = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (release.attempts - 1));
+        hotLog.warn(LogCategory.LIMBO, "release_retry player={} server={} reason={}",
+                release.connected, queue.serverName, reason);
+        queue.retry(release, System.currentTimeMillis() + backoffMillis);
+    }
+
+    private static void sendPosition(final Player player, final String serverName, final int position) {
+        player.sendMessage(Component.text("Você é o " + position + "º na fila para `" + serverName + "`."));
+    }
+
+    private static final class Release {
+        private final ConnectedPlayer connected;
+        // Only touched by the transfer currently holding the release
+        private int attempts;
+
+        private Release(final ConnectedPlayer connected) {
+            this.connected = connected;
+        }
+    }
+
+    /**
+     * Pending and in-flight transfers to one server, guarded by its monitor
+     */
+    private static final class ServerQueue {
+        private final RegisteredServer server;
+        private final String serverName;
+        private final Deque<Release> pending = new ArrayDeque<>();
+        // Pending and in-flight players, so repeated updates don't queue twice
+        private final Set<ConnectedPlayer> queued = new HashSet<>();
+        private int inFlight;
+        private double tokens;
+        private long lastRefillMillis = System.currentTimeMillis();
+        private long pausedUntilMillis;
+        // Only touched by the tick
+        private long lastPositionMillis = System.currentTimeMillis();
+
+        private ServerQueue(final RegisteredServer server) {
+            this.server = server;
+            this.serverName = server.getServerInfo().getName();
+        }
+
+        private synchronized int add(final Release release) {
+            if (!queued.add(release.connected)) {
+                return 0;
+            }
+            pending.addLast(release);
+            return pending.size();
+        }
+
+        /**
+         * Take the releases allowed to start now by the rate and concurrency limits
+         */
+        private synchronized List<Release> take(final TwigConfig config, final long now) {
+            final int rate = config.getReleaseRatePerSecond();
+            // Refill the budget, allowing at most one second of burst
+            tokens = Math.min(rate, tokens + rate * (now - lastRefillMillis) / 1000.0);
+            lastRefillMillis = now;
+
+            pending.removeIf(release -> {
+                if (release.connected.getPlayer().isActive()) {
+                    return false;
+                }
+                queued.remove(release.connected);
+                return true;
+            });
+
+            if (pending.isEmpty() || now < pausedUntilMillis) {
+                return Collections.emptyList();
+            }
+
+            final List<Release> ready = new ArrayList<>();
+            while (tokens >= 1 && inFlight < config.getReleaseMaxConcurrent() && !pending.isEmpty()) {
+                tokens--;
+                inFlight++;
+                ready.add(pending.pollFirst());
+            }
+            return ready;
+        }
+
+        private synchronized void complete(final Release release) {
+            inFlight--;
+            queued.remove(release.connected);
+        }
+
+        /**
+         * Put a failed release back at the head and pause the queue until its retry
+         */
+        private synchronized void retry(final Release release, final long retryAtMillis) {
+            inFlight--;
+            pending.addFirst(release);
+            pausedUntilMillis = Math.max(pausedUntilMillis, retryAtMillis);
+        }
+
+        private synchronized List<Player> waiting() {
+            final List<Player> waiting = new ArrayList<>(pending.size());
+            for (Release release : pending) {
+                waiting.add(release.connected.getPlayer());
+            }
+            return waiting;
+        }
+
+        private synchronized int size() {
+            return queued.size();
+        }
+    }
+}
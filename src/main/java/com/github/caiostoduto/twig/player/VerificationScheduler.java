@@ -0,0 +1,194 @@
+package com.github.caiostoduto.twig.player;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+import com.github.caiostoduto.twig.config.ConfigManager;
+import com.github.caiostoduto.twig.config.TwigConfig;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+
+/**
+ * Re-checks online players in the background, in small rate-limited slices.
+ * Every tick, players whose last verification is older than the configured
+ * period are checked oldest first, within a budget of verification_rps checks
+ * per second, so drift is caught between events without load spikes. The
+ * checks themselves run on the bridge executor, never on the proxy scheduler.
+ */
+public class VerificationScheduler {
+    private static final Duration TICK = Duration.ofSeconds(1);
+
+    private final Object plugin;
+    private final Logger logger;
+    private final ProxyServer proxyServer;
+    private final ConfigManager configManager;
+    private final PlayerRegistry players;
+    private final Consumer<ConnectedPlayer> verifier;
+    private final Executor executor;
+    private final AtomicBoolean ticking = new AtomicBoolean();
+    // Players whose check was submitted but hasn't finished, not picked again meanwhile
+    private final Set<ConnectedPlayer> verifying = ConcurrentHashMap.newKeySet();
+
+    // Only touched by the tick that holds the ticking flag
+    private double tokens = 0;
+    private long lastTickNanos = System.nanoTime();
+
+    private ScheduledTask task;
+
+    /**
+     * @param verifier Checks one player's access and marks them verified
+     * @param executor Runs the verifier, which blocks on the access check
+     */
+    public VerificationScheduler(final Object plugin, final Logger logger, final ProxyServer proxyServer,
+            final ConfigManager configManager, final PlayerRegistry players,
+            final Consumer<ConnectedPlayer> verifier, final Executor executor) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.proxyServer = proxyServer;
+        this.configManager = configManager;
+        this.players = players;
+        this.verifier = verifier;
+        this.executor = executor;
+    }
+
+    public synchronized void start() {
+        if (task == null) {
+            task = proxyServer.getScheduler().buildTask(plugin, this::tick)
+                    .delay(TICK)
+                    .repeat(TICK)
+                    .schedule();
+        }
+    }
+
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Whether the verifier is enabled in the current configuration
+     */
+    public boolean isEnabled() {
+        return configManager.getSnapshot().getVerificationRps() > 0;
+    }
+
+    /**
+     * Make every online player due for re-verification, e.g. after events may
+     * have been missed. The players are then checked at the configured rate.
+     */
+    public void resetAll() {
+        for (ConnectedPlayer connected : players.getAll()) {
+            connected.resetVerification();
+        }
+    }
+
+    private void tick() {
+        // A slow tick must not overlap with the next one
+        if (!ticking.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            final TwigConfig config = configManager.getSnapshot();
+            final long now = System.nanoTime();
+            final double elapsedSeconds = (now - lastTickNanos) / 1_000_000_000.0;
+            lastTickNanos = now;
+
+            final int rps = config.getVerificationRps();
+            if (rps <= 0) {
+                tokens = 0;
+                return;
+            }
+
+            // Refill the budget, allowing at most one second of burst
+            tokens = Math.min(rps, tokens + rps * elapsedSeconds);
+            final int budget = (int) tokens;
+            if (budget == 0) {
+                return;
+            }
+
+            final long dueBefore = System.currentTimeMillis() - config.getVerificationPeriodSeconds() * 1000L;
+            final List<ConnectedPlayer> due = oldestDue(budget, dueBefore);
+            for (ConnectedPlayer connected : due) {
+                tokens--;
+                verifying.add(connected);
+                try {
+                    executor.execute(() -> verify(connected));
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    verifying.remove(connected);
+                    return;
+                }
+            }
+
+            if (!due.isEmpty()) {
+                logger.debug("Re-verifying {} player(s) in the background", due.size());
+            }
+        } finally {
+            ticking.set(false);
+        }
+    }
+
+    private void verify(final ConnectedPlayer connected) {
+        try {
+            verifier.accept(connected);
+        } catch (Exception e) {
+            logger.error("Failed to re-verify player {}: {}", connected, e.getMessage(), e);
+        } finally {
+            verifying.remove(connected);
+        }
+    }
+
+    /**
+     * Find at most {@code limit} players last verified before {@code dueBefore},
+     * oldest first
+     */
+    private List<ConnectedPlayer> oldestDue(final int limit, final long dueBefore) {
+        // Max-heap on the verification time keeps the oldest candidates
+        final PriorityQueue<Candidate> oldest = new PriorityQueue<>(limit + 1,
+                Comparator.comparingLong((Candidate candidate) -> candidate.verifiedAt).reversed());
+        for (ConnectedPlayer connected : players.getAll()) {
+            final long verifiedAt = connected.getLastVerifiedAt();
+            if (verifiedAt > dueBefore || verifying.contains(connected)) {
+                continue;
+            }
+
+            oldest.add(new Candidate(connected, verifiedAt));
+            if (oldest.size() > limit) {
+                oldest.poll();
+            }
+        }
+
+        final List<ConnectedPlayer> due = new ArrayList<>(oldest.size());
+        while (!oldest.isEmpty()) {
+            due.add(oldest.poll().player);
+        }
+        // Polled newest first
+        Collections.reverse(due);
+        return due;
+    }
+
+    private static final class Candidate {
+        private final ConnectedPlayer player;
+        private final long verifiedAt;
+
+        private Candidate(final ConnectedPlayer player, final long verifiedAt) {
+            this.player = player;
+            this.verifiedAt = verifiedAt;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.caiostoduto.twig.grpc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread support for {@link BridgeExecutor}, loaded from the
+ * multi-release jar on Java 21+.
+ */
+final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return An executor starting a virtual thread per task
+     */
+    static ExecutorService newExecutor(final String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+}
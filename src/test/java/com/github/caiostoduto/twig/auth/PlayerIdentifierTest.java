@@ -0,0 +1,35 @@
+package com.github.caiostoduto.twig.auth;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.junit.Test;
+
+public class PlayerIdentifierTest {
+    @Test
+    public void parsesLiteralsLikeInetAddress() throws UnknownHostException {
+        final String[] literals = {
+                "1.2.3.4", "255.255.255.255", "::", "::1", "1::", "fe80::1:2", "2001:db8:0:0:0:0:2:1",
+                "[2001:db8::1]", "::ffff:10.0.0.1", "64:ff9b::1.2.3.4", "1:2:3:4:5:6:7::", "ABCD:EF01::"
+        };
+        for (String literal : literals) {
+            assertArrayEquals(literal, InetAddress.getByName(literal).getAddress(),
+                    new PlayerIdentifier("Steve", literal).getAddressBytes());
+        }
+    }
+
+    @Test
+    public void rejectsHostNamesAndMalformedLiterals() {
+        // Host names made only of hex letters must not reach a DNS lookup
+        final String[] invalid = {
+                "deadbeef", "cafe.babe", "localhost", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1..2.3", "1:::2",
+                "1::2::3", "12345::", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7:8::", "::1.2.3", "fe80::1%eth0", ""
+        };
+        for (String literal : invalid) {
+            assertThrows(literal, IllegalArgumentException.class, () -> new PlayerIdentifier("Steve", literal));
+        }
+    }
+}
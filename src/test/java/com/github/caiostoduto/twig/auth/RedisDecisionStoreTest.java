@@ -0,0 +1,187 @@
+package com.github.caiostoduto.twig.auth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.helpers.NOPLogger;
+
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessStatus;
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+public class RedisDecisionStoreTest {
+    private static final long TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long STALE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final PlayerIdentifier STEVE = new PlayerIdentifier("Steve", "10.0.0.1");
+    private static final PlayerIdentifier ALEX = new PlayerIdentifier("Alex", "10.0.0.2");
+    private static final String STEVE_KEY = "twig:decisions:10.0.0.1/Steve";
+
+    private RespServer server;
+    private RedisDecisionStore store;
+    private RedisDecisionStore otherStore;
+
+    @Before
+    public void startServer() throws IOException {
+        server = new RespServer();
+        store = newStore();
+        otherStore = newStore();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        store.close();
+        otherStore.close();
+        server.close();
+    }
+
+    @Test
+    public void storesDecisionsInOneHashPerPlayer() {
+        final long expiresAt = System.currentTimeMillis() + TTL_MILLIS;
+        store.put(STEVE, "survival", decision(AccessStatus.ALLOWED, expiresAt), expiresAt + STALE_MILLIS);
+        store.put(STEVE, "lobby", decision(AccessStatus.PROHIBITED, expiresAt), expiresAt);
+
+        assertEquals(Set.of(STEVE_KEY), server.keys());
+        final StoredDecision stored = store.get(STEVE, "survival");
+        assertNotNull(stored);
+        assertEquals(AccessStatus.ALLOWED, stored.getResponse().getStatus());
+        assertEquals(expiresAt, stored.getExpiresAt());
+        assertEquals(AccessStatus.PROHIBITED, store.get(STEVE, "lobby").getResponse().getStatus());
+        assertNull(store.get(STEVE, "creative"));
+        assertNull(store.get(ALEX, "survival"));
+    }
+
+    @Test
+    public void laterShorterDecisionKeepsTheHashAlive() {
+        final long now = System.currentTimeMillis();
+        store.put(STEVE, "survival", decision(AccessStatus.ALLOWED, now + TTL_MILLIS),
+                now + TTL_MILLIS + STALE_MILLIS);
+        store.put(STEVE, "lobby", decision(AccessStatus.REQUIRES_SIGNUP, now + 1000), now + 1000);
+
+        assertTrue(server.ttlMillis(STEVE_KEY) > TTL_MILLIS);
+    }
+
+    @Test
+    public void decisionFetchedByOneProxyServesAnother() {
+        final AccessDecisionCache cache = newCache(store);
+        final AccessDecisionCache otherCache = newCache(otherStore);
+
+        cache.put(STEVE, "survival", response(AccessStatus.ALLOWED));
+
+        final PlayerAccessResponse shared = otherCache.get(STEVE, "survival");
+        assertNotNull(shared);
+        assertEquals(AccessStatus.ALLOWED, shared.getStatus());
+    }
+
+    @Test
+    public void serverInvalidationScansEveryPlayer() {
+        final AccessDecisionCache cache = newCache(store);
+        cache.put(STEVE, "survival", response(AccessStatus.ALLOWED));
+        cache.put(STEVE, "lobby", response(AccessStatus.ALLOWED));
+        cache.put(ALEX, "survival", response(AccessStatus.ALLOWED));
+
+        otherStore.invalidateServer("survival");
+
+        assertNull(cache.get(STEVE, "survival"));
+        assertNull(cache.get(ALEX, "survival"));
+        assertNotNull(cache.get(STEVE, "lobby"));
+    }
+
+    @Test
+    public void localInvalidationLeavesOtherProxiesDecisions() {
+        final AccessDecisionCache cache = newCache(store);
+        final AccessDecisionCache otherCache = newCache(otherStore);
+        cache.put(STEVE, "survival", response(AccessStatus.ALLOWED));
+
+        cache.invalidateAll();
+
+        assertNull(cache.lookup(STEVE, "survival"));
+        assertNotNull(otherCache.lookup(STEVE, "survival"));
+        assertEquals(Set.of(STEVE_KEY), server.keys());
+
+        cache.purgeAll();
+
+        assertNull(otherCache.lookup(STEVE, "survival"));
+        assertTrue(server.keys().isEmpty());
+    }
+
+    @Test
+    public void concurrentLoginsShareThePool() throws InterruptedException, ExecutionException {
+        final ExecutorService logins = Executors.newFixedThreadPool(16);
+        try {
+            final List<Future<StoredDecision>> reads = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final PlayerIdentifier playerId = new PlayerIdentifier("Player" + i, "10.0.1." + i);
+                reads.add(logins.submit(() -> {
+                    final long expiresAt = System.currentTimeMillis() + TTL_MILLIS;
+                    store.put(playerId, "survival", decision(AccessStatus.ALLOWED, expiresAt), expiresAt);
+                    return store.get(playerId, "survival");
+                }));
+            }
+            for (Future<StoredDecision> read : reads) {
+                assertNotNull(read.get());
+            }
+        } finally {
+            logins.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failingStoreIsSkippedWhileBackingOff() {
+        final long expiresAt = System.currentTimeMillis() + TTL_MILLIS;
+        server.setMode(RespServer.Mode.FAILING);
+
+        assertNull(store.get(STEVE, "survival"));
+        final int commands = server.getCommandCount();
+
+        store.put(STEVE, "survival", decision(AccessStatus.ALLOWED, expiresAt), expiresAt);
+        assertNull(store.get(STEVE, "survival"));
+        store.invalidate(STEVE);
+        assertEquals(commands, server.getCommandCount());
+    }
+
+    @Test
+    public void stalledStoreOnlyCostsTheTimeout() {
+        server.setMode(RespServer.Mode.STALLED);
+
+        final long start = System.nanoTime();
+        assertNull(store.get(STEVE, "survival"));
+        assertNull(store.get(STEVE, "survival"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    }
+
+    private RedisDecisionStore newStore() {
+        return new RedisDecisionStore("127.0.0.1", server.getPort(), "", 100, NOPLogger.NOP_LOGGER);
+    }
+
+    private static AccessDecisionCache newCache(final DecisionStore store) {
+        final AccessDecisionCache cache = new AccessDecisionCache(TTL_MILLIS, store);
+        cache.setStaleMillis(STALE_MILLIS);
+        return cache;
+    }
+
+    private static StoredDecision decision(final AccessStatus status, final long expiresAt) {
+        return new StoredDecision(response(status), expiresAt, System.currentTimeMillis());
+    }
+
+    private static PlayerAccessResponse response(final AccessStatus status) {
+        final PlayerAccessResponse.Builder response = PlayerAccessResponse.newBuilder().setStatus(status);
+        if (status == AccessStatus.REQUIRES_SIGNUP) {
+            response.setAuthenticationUrl("https://example.com/signup").setExpiresIn(1);
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,274 @@
+package com.github.caiostoduto.twig.auth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-JVM stand-in for a Redis-protocol server, implementing the commands
+ * {@link RedisDecisionStore} sends on a loopback socket.
+ */
+final class RespServer implements AutoCloseable {
+    enum Mode {
+        // Answer commands normally
+        NORMAL,
+        // Reply with an error to every command
+        FAILING,
+        // Read commands without ever replying
+        STALLED
+    }
+
+    private final ServerSocket serverSocket;
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger commands = new AtomicInteger();
+    // Guarded by this, sorted so SCAN cursors are stable
+    private final TreeMap<String, Map<String, byte[]>> hashes = new TreeMap<>();
+    private final Map<String, Long> expiries = new HashMap<>();
+    private volatile Mode mode = Mode.NORMAL;
+
+    RespServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        final Thread acceptor = new Thread(this::accept, "resp-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    void setMode(final Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Number of commands received so far, in any mode
+     */
+    int getCommandCount() {
+        return commands.get();
+    }
+
+    synchronized Set<String> keys() {
+        purgeExpired();
+        return Set.copyOf(hashes.keySet());
+    }
+
+    /**
+     * @return Remaining time to live of a key in milliseconds, -1 without
+     *         expiry or -2 if the key does not exist
+     */
+    synchronized long ttlMillis(final String key) {
+        purgeExpired();
+        if (!hashes.containsKey(key)) {
+            return -2;
+        }
+        final Long expiresAt = expiries.get(key);
+        return expiresAt == null ? -1 : expiresAt - System.currentTimeMillis();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket client = serverSocket.accept();
+                clients.add(client);
+                final Thread handler = new Thread(() -> serve(client), "resp-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(final Socket client) {
+        try (client) {
+            final InputStream in = new BufferedInputStream(client.getInputStream());
+            final OutputStream out = new BufferedOutputStream(client.getOutputStream());
+            List<String> command;
+            while ((command = readCommand(in)) != null) {
+                commands.incrementAndGet();
+                switch (mode) {
+                    case FAILING:
+                        out.write("-ERR unavailable\r\n".getBytes(StandardCharsets.US_ASCII));
+                        break;
+                    case STALLED:
+                        continue;
+                    default:
+                        writeReply(out, execute(command));
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private synchronized Object execute(final List<String> command) {
+        purgeExpired();
+        final String key = command.size() > 1 ? command.get(1) : null;
+        switch (command.get(0).toUpperCase(Locale.ROOT)) {
+            case "AUTH":
+                return "OK";
+            case "HSET":
+                return hashes.computeIfAbsent(key, k -> new HashMap<>())
+                        .put(command.get(2), command.get(3).getBytes(StandardCharsets.ISO_8859_1)) == null ? 1L : 0L;
+            case "HGET": {
+                final Map<String, byte[]> hash = hashes.get(key);
+                return hash == null ? null : hash.get(command.get(2));
+            }
+            case "HDEL": {
+                final Map<String, byte[]> hash = hashes.get(key);
+                if (hash == null || hash.remove(command.get(2)) == null) {
+                    return 0L;
+                }
+                if (hash.isEmpty()) {
+                    hashes.remove(key);
+                    expiries.remove(key);
+                }
+                return 1L;
+            }
+            case "DEL":
+                expiries.remove(key);
+                return hashes.remove(key) == null ? 0L : 1L;
+            case "PEXPIRE":
+                if (!hashes.containsKey(key)) {
+                    return 0L;
+                }
+                expiries.put(key, System.currentTimeMillis() + Long.parseLong(command.get(2)));
+                return 1L;
+            case "PTTL": {
+                if (!hashes.containsKey(key)) {
+                    return -2L;
+                }
+                final Long expiresAt = expiries.get(key);
+                return expiresAt == null ? -1L : expiresAt - System.currentTimeMillis();
+            }
+            case "SCAN":
+                return scan(command);
+            default:
+                return new IOException("ERR unknown command " + command.get(0));
+        }
+    }
+
+    /**
+     * SCAN cursor MATCH pattern COUNT count, the cursor being an offset in the sorted keys
+     */
+    private List<Object> scan(final List<String> command) {
+        final int cursor = Integer.parseInt(command.get(1));
+        final String prefix = command.get(3).substring(0, command.get(3).length() - 1);
+        final int count = Integer.parseInt(command.get(5));
+
+        final List<String> keys = new ArrayList<>(hashes.keySet());
+        final int end = Math.min(keys.size(), cursor + count);
+        final List<Object> matched = new ArrayList<>();
+        for (String key : keys.subList(Math.min(cursor, end), end)) {
+            if (key.startsWith(prefix)) {
+                matched.add(key.getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+        final String next = end == keys.size() ? "0" : Integer.toString(end);
+        return List.of(next.getBytes(StandardCharsets.US_ASCII), matched);
+    }
+
+    private void purgeExpired() {
+        final long now = System.currentTimeMillis();
+        expiries.entrySet().removeIf(entry -> {
+            if (entry.getValue() > now) {
+                return false;
+            }
+            hashes.remove(entry.getKey());
+            return true;
+        });
+    }
+
+    /**
+     * Read one command sent as an array of bulk strings. Values are decoded as
+     * ISO-8859-1 so binary ones round-trip unchanged
+     *
+     * @return The command and its arguments, or null once the client disconnected
+     */
+    private static List<String> readCommand(final InputStream in) throws IOException {
+        final int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("Expected an array");
+        }
+
+        final int count = Integer.parseInt(readLine(in));
+        final List<String> command = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Expected a bulk string");
+            }
+            final int length = Integer.parseInt(readLine(in));
+            final byte[] bytes = in.readNBytes(length);
+            in.readNBytes(2);
+            command.add(new String(bytes, StandardCharsets.ISO_8859_1));
+        }
+        return command;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new IOException("Connection closed");
+            }
+            line.write(b);
+        }
+        in.read();
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    private static void writeReply(final OutputStream out, final Object reply) throws IOException {
+        if (reply == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof String) {
+            out.write(("+" + reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof IOException) {
+            out.write(("-" + ((IOException) reply).getMessage() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof Long) {
+            out.write((":" + reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof byte[]) {
+            final byte[] bytes = (byte[]) reply;
+            out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        } else {
+            final List<?> items = (List<?>) reply;
+            out.write(("*" + items.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (Object item : items) {
+                writeReply(out, item);
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.github.caiostoduto.twig.grpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.caiostoduto.twig.config.TwigConfig;
+
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import minecraft_bridge.MinecraftBridgeGrpc;
+import minecraft_bridge.MinecraftBridgeOuterClass.AccessStatus;
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessRequest;
+import minecraft_bridge.MinecraftBridgeOuterClass.PlayerAccessResponse;
+
+/**
+ * Balancing and hedging across several in-process Twig bot replicas, resolved
+ * through {@link StaticNameResolverProvider} like the production channel.
+ */
+public class BalancedChannelTest {
+    private static final PlayerAccessRequest REQUEST = PlayerAccessRequest.newBuilder()
+            .setPlayerName("Steve")
+            .setServerName("lobby")
+            .build();
+
+    @Rule
+    public final GrpcCleanupRule grpcCleanup = new GrpcCleanupRule();
+
+    // Holds the slow replica's handler, released once the test is done
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @After
+    public void releaseSlowReplica() {
+        release.countDown();
+    }
+
+    @Test
+    public void roundRobinSpreadsCallsAcrossReplicas() throws IOException {
+        final List<Replica> replicas = List.of(new Replica(0), new Replica(0), new Replica(0));
+        final List<String> endpoints = start(replicas, 50161);
+        final TwigConfig config = config(endpoints, 0);
+        final MinecraftBridgeGrpc.MinecraftBridgeBlockingStub stub = MinecraftBridgeGrpc
+                .newBlockingStub(channel(config));
+
+        // Subchannels become ready one by one, wait until every replica has answered
+        for (int i = 0; i < 100 && !replicas.stream().allMatch(replica -> replica.calls.get() > 0); i++) {
+            stub.checkPlayerAccess(REQUEST);
+        }
+        replicas.forEach(replica -> replica.calls.set(0));
+
+        for (int i = 0; i < 30; i++) {
+            assertEquals(AccessStatus.ALLOWED, stub.checkPlayerAccess(REQUEST).getStatus());
+        }
+        for (Replica replica : replicas) {
+            assertEquals(10, replica.calls.get());
+        }
+    }
+
+    @Test
+    public void slowReplicaIsHedged() throws IOException, InterruptedException {
+        final Replica slow = new Replica(TimeUnit.SECONDS.toMillis(10));
+        final Replica fast = new Replica(0);
+        final List<String> endpoints = start(List.of(slow, fast), 50171);
+        final TwigConfig config = config(endpoints, 100);
+        final ManagedChannel channel = channel(config);
+        awaitReady(channel);
+        final MinecraftBridgeGrpc.MinecraftBridgeBlockingStub stub = MinecraftBridgeGrpc.newBlockingStub(channel);
+
+        // Round robin sends every other first attempt to the slow replica, each of
+        // those must be answered by the hedged attempt long before its deadline
+        for (int i = 0; i < 6; i++) {
+            final long start = System.nanoTime();
+            final PlayerAccessResponse response = stub.withDeadlineAfter(2, TimeUnit.SECONDS)
+                    .checkPlayerAccess(REQUEST);
+            final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(AccessStatus.ALLOWED, response.getStatus());
+            assertTrue("Call took " + elapsedMillis + "ms", elapsedMillis < 1000);
+        }
+        assertTrue("The slow replica never received an attempt", slow.calls.get() > 0);
+        assertTrue("Hedged attempts did not reach the fast replica", fast.calls.get() > slow.calls.get());
+    }
+
+    /**
+     * Register each replica under its own address, returning the endpoints
+     */
+    private List<String> start(final List<Replica> replicas, final int firstPort) throws IOException {
+        final List<String> endpoints = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            final InetSocketAddress address = new InetSocketAddress("127.0.0.1", firstPort + i);
+            grpcCleanup.register(InProcessServerBuilder.forAddress(address)
+                    .addService(replicas.get(i))
+                    .build()
+                    .start());
+            endpoints.add("127.0.0.1:" + address.getPort());
+        }
+        return endpoints;
+    }
+
+    /**
+     * In-process equivalent of the balanced channel built by {@link ChannelFactory}
+     */
+    @SuppressWarnings("deprecation")
+    private ManagedChannel channel(final TwigConfig config) {
+        final StaticNameResolverProvider resolver = new StaticNameResolverProvider(config.getGrpcEndpoints());
+        final InProcessChannelBuilder builder = InProcessChannelBuilder.forTarget(resolver.getTarget())
+                .nameResolverFactory(resolver)
+                .defaultLoadBalancingPolicy(config.getGrpcLoadBalancing());
+        if (config.getGrpcHedgingDelayMillis() > 0) {
+            builder.defaultServiceConfig(ChannelFactory.hedgingServiceConfig(config)).enableRetry();
+        }
+        return grpcCleanup.register(builder.build());
+    }
+
+    /**
+     * Connect the channel before the first call, so both replicas can be picked
+     */
+    private static void awaitReady(final ManagedChannel channel) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (channel.getState(true) != ConnectivityState.READY) {
+            assertTrue("Channel never became ready", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static TwigConfig config(final List<String> endpoints, final int hedgingDelayMillis) {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("grpc_endpoints", endpoints);
+        values.put("grpc_load_balancing", "round_robin");
+        values.put("grpc_hedging_delay_millis", hedgingDelayMillis);
+        values.put("grpc_hedging_max_attempts", 2);
+        return TwigConfig.from(values);
+    }
+
+    /**
+     * Replica answering ALLOWED after an optional delay
+     */
+    private final class Replica extends MinecraftBridgeGrpc.MinecraftBridgeImplBase {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final long delayMillis;
+
+        private Replica(final long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void checkPlayerAccess(final PlayerAccessRequest request,
+                final StreamObserver<PlayerAccessResponse> responseObserver) {
+            calls.incrementAndGet();
+            if (delayMillis > 0) {
+                try {
+                    release.await(delayMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            responseObserver.onNext(PlayerAccessResponse.newBuilder().setStatus(AccessStatus.ALLOWED).build());
+            responseObserver.onCompleted();
+        }
+    }
+}